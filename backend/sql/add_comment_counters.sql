@@ -0,0 +1,9 @@
+-- Denormalized comment and reply counters
+-- post.comment_count counts top-level comments, comment.reply_count counts replies
+
+ALTER TABLE post ADD COLUMN comment_count INT NOT NULL DEFAULT 0;
+ALTER TABLE comment ADD COLUMN reply_count INT NOT NULL DEFAULT 0;
+
+-- Backfill from existing rows
+UPDATE post p SET comment_count = (SELECT COUNT(*) FROM comment c WHERE c.post_id = p.id);
+UPDATE comment c SET reply_count = (SELECT COUNT(*) FROM reply r WHERE r.comment_id = c.id);
@@ -0,0 +1,5 @@
+-- Keyset paging of comment threads and replies
+-- GET /api/posts/{postId}/comments?cursor=... and /api/posts/comments/{commentId}/replies?cursor=...
+
+CREATE INDEX idx_comment_post_created_id ON comment (post_id, created_at, id);
+CREATE INDEX idx_reply_comment_created_id ON reply (comment_id, created_at, id);
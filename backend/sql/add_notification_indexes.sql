@@ -0,0 +1,6 @@
+-- Indexes for the cursor-paginated notification listing
+-- (GET /api/notifications?cursor=&size=&unreadOnly=), ordered by created_at DESC, id DESC.
+-- InnoDB appends the primary key to secondary indexes, so both cover the id tie-break.
+
+CREATE INDEX idx_notifications_user_read_created ON notifications (user_id, is_read, created_at);
+CREATE INDEX idx_notifications_user_created ON notifications (user_id, created_at);
@@ -0,0 +1,17 @@
+-- Transactional outbox for post creation side effects
+-- POST /api/posts inserts a NEW_POST row in the same transaction as the post.
+-- OutboxDispatcher turns it into the admin notifications plus one NEW_POST_ADMIN_EMAIL
+-- row per admin, then sends each email, retrying with backoff on failure.
+
+CREATE TABLE IF NOT EXISTS outbox_event (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(40) NOT NULL,
+    post_id BIGINT NOT NULL,
+    actor_user_id BIGINT NOT NULL,
+    recipient_user_id BIGINT NULL,
+    created_at DATETIME(6) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6) NOT NULL,
+    last_error VARCHAR(1000) NULL,
+    INDEX idx_outbox_event_next_attempt (next_attempt_at, id)
+);
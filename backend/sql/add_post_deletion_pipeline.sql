@@ -0,0 +1,17 @@
+-- Two-phase post deletion
+-- DELETE /api/posts/{id} only stamps post.deleted_at (every query then ignores the row)
+-- and queues a post_deletion entry. PostDeletionWorker later deletes replies, comments,
+-- votes, saved_posts, tags and the post row with set-based statements, then the media,
+-- retrying with backoff on failure.
+
+ALTER TABLE post ADD COLUMN deleted_at DATETIME(6) NULL;
+
+CREATE TABLE IF NOT EXISTS post_deletion (
+    post_id BIGINT NOT NULL PRIMARY KEY,
+    media_url TEXT NULL,
+    requested_at DATETIME(6) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6) NOT NULL,
+    last_error VARCHAR(1000) NULL,
+    INDEX idx_post_deletion_next_attempt (next_attempt_at)
+);
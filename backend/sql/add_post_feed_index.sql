@@ -0,0 +1,3 @@
+-- Composite index backing the keyset (cursor) post feed
+-- Feed queries seek on (created_at, id) and order by both columns descending
+CREATE INDEX idx_post_created_at_id ON post(created_at, id);
@@ -0,0 +1,14 @@
+-- Time-decayed hot ranking score for GET /api/posts?sort=hot
+-- Must match com.cuet.sphere.util.HotScore; recomputed by the application on
+-- every vote/comment change and during vote counter reconciliation
+
+ALTER TABLE post ADD COLUMN hot_score DOUBLE NOT NULL DEFAULT 0;
+
+-- Backfill: sign(e) * log10(max(|e|, 1)) + seconds since 2024-01-01 / 45000,
+-- where e = upvotes - downvotes + 0.5 * comments
+UPDATE post SET hot_score =
+    SIGN(upvote_count - downvote_count + 0.5 * comment_count)
+        * LOG10(GREATEST(ABS(upvote_count - downvote_count + 0.5 * comment_count), 1))
+    + TIMESTAMPDIFF(SECOND, '2024-01-01 00:00:00', created_at) / 45000;
+
+CREATE INDEX idx_post_hot_score_id ON post (hot_score, id);
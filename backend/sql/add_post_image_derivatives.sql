@@ -0,0 +1,10 @@
+-- Thumbnail and feed-size copies of post images
+-- Saving a post with a JPEG/PNG/BMP image queues a POST_IMAGE_DERIVATIVES outbox event.
+-- ImageDerivativeService stores width-bounded JPEGs next to the original
+-- (<name>_thumb.jpg, <name>_feed.jpg) and records them here together with the
+-- media_url they were made from.
+
+ALTER TABLE post
+    ADD COLUMN thumbnail_url VARCHAR(512) NULL,
+    ADD COLUMN feed_image_url VARCHAR(512) NULL,
+    ADD COLUMN derivatives_source_url VARCHAR(512) NULL;
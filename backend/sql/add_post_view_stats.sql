@@ -0,0 +1,11 @@
+-- View counters for posts (POST/GET /api/posts/{id}/views)
+-- Views are counted in memory and flushed in batches by ViewCounter/PostViewService.
+-- viewer_sketch is a 1 KB HyperLogLog of the viewers; unique_viewers is its estimate.
+-- Kept in its own table so views never lock or rewrite the post row.
+
+CREATE TABLE IF NOT EXISTS post_view_stats (
+    post_id BIGINT NOT NULL PRIMARY KEY,
+    view_count BIGINT NOT NULL DEFAULT 0,
+    unique_viewers BIGINT NOT NULL DEFAULT 0,
+    viewer_sketch VARBINARY(1024) NOT NULL
+);
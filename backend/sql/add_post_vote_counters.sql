@@ -0,0 +1,11 @@
+-- Denormalized vote counters on posts
+-- Maintained by atomic UPDATE ... SET upvote_count = upvote_count + ? statements
+-- and periodically reconciled against the vote table
+
+ALTER TABLE post ADD COLUMN upvote_count INT NOT NULL DEFAULT 0;
+ALTER TABLE post ADD COLUMN downvote_count INT NOT NULL DEFAULT 0;
+
+-- Backfill from existing votes
+UPDATE post p SET
+    upvote_count = (SELECT COUNT(*) FROM vote v WHERE v.post_id = p.id AND v.upvote = TRUE),
+    downvote_count = (SELECT COUNT(*) FROM vote v WHERE v.post_id = p.id AND v.upvote = FALSE);
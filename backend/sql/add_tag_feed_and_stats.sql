@@ -0,0 +1,31 @@
+-- Tag feed access path and per-tag post counts
+-- tag_feed duplicates post_tags with the post's created_at so GET /api/posts?tag=
+-- reads newest first from one index; tag_stats backs the trending tags endpoint.
+-- Both are maintained by PostTagService on post create/update/delete.
+
+CREATE TABLE IF NOT EXISTS tag_feed (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tag VARCHAR(255) NOT NULL,
+    post_id BIGINT NOT NULL,
+    post_created_at DATETIME(6) NOT NULL,
+    FOREIGN KEY (post_id) REFERENCES post(id),
+    UNIQUE KEY unique_tag_feed_tag_post (tag, post_id),
+    INDEX idx_tag_feed_tag_created_post (tag, post_created_at, post_id),
+    INDEX idx_tag_feed_post_id (post_id)
+);
+
+CREATE TABLE IF NOT EXISTS tag_stats (
+    tag VARCHAR(255) NOT NULL PRIMARY KEY,
+    post_count INT NOT NULL DEFAULT 0,
+    INDEX idx_tag_stats_post_count (post_count)
+);
+
+-- Backfill from existing tags
+INSERT IGNORE INTO tag_feed (tag, post_id, post_created_at)
+SELECT DISTINCT TRIM(pt.tag), p.id, COALESCE(p.created_at, NOW())
+FROM post_tags pt JOIN post p ON p.id = pt.post_id
+WHERE TRIM(pt.tag) <> '';
+
+INSERT INTO tag_stats (tag, post_count)
+SELECT tag, COUNT(*) FROM tag_feed GROUP BY tag
+ON DUPLICATE KEY UPDATE post_count = VALUES(post_count);
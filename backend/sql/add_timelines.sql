@@ -0,0 +1,35 @@
+-- Precomputed timelines for GET /api/posts/timeline
+-- timeline_entry holds posts fanned out to each member of the author's department and
+-- batch; group_timeline holds posts of groups too large to fan out, merged at read time.
+-- Both are maintained by TimelineService on post create/delete.
+
+CREATE TABLE IF NOT EXISTS timeline_entry (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    post_id BIGINT NOT NULL,
+    post_created_at DATETIME(6) NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id),
+    FOREIGN KEY (post_id) REFERENCES post(id),
+    UNIQUE KEY unique_timeline_entry_user_post (user_id, post_id),
+    INDEX idx_timeline_entry_user_created_post (user_id, post_created_at, post_id),
+    INDEX idx_timeline_entry_post_id (post_id)
+);
+
+CREATE TABLE IF NOT EXISTS group_timeline (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    department VARCHAR(255) NOT NULL,
+    batch VARCHAR(255) NOT NULL,
+    post_id BIGINT NOT NULL,
+    post_created_at DATETIME(6) NOT NULL,
+    FOREIGN KEY (post_id) REFERENCES post(id),
+    UNIQUE KEY unique_group_timeline_post (post_id),
+    INDEX idx_group_timeline_group_created_post (department, batch, post_created_at, post_id)
+);
+
+-- Group lookups for fan-out
+CREATE INDEX idx_users_department_batch ON users (u_department, u_batch);
+
+-- Backfill: existing posts become group rows, so every member sees them without a fan-out
+INSERT IGNORE INTO group_timeline (department, batch, post_id, post_created_at)
+SELECT u.u_department, u.u_batch, p.id, COALESCE(p.created_at, NOW())
+FROM post p JOIN users u ON u.id = p.user_id;
@@ -0,0 +1,17 @@
+-- One vote per (post, user)
+-- Votes are written by the application's vote buffer as an idempotent upsert;
+-- the unique key turns a racing duplicate insert into an error instead of a second row.
+
+-- Keep only the most recent vote of each user on each post
+DELETE v1 FROM vote v1
+JOIN vote v2
+  ON v1.post_id = v2.post_id
+ AND v1.user_id = v2.user_id
+ AND v1.id < v2.id;
+
+ALTER TABLE vote ADD CONSTRAINT unique_vote_post_user UNIQUE (post_id, user_id);
+
+-- Counters may have counted the removed duplicates
+UPDATE post p SET
+    upvote_count = (SELECT COUNT(*) FROM vote v WHERE v.post_id = p.id AND v.upvote = TRUE),
+    downvote_count = (SELECT COUNT(*) FROM vote v WHERE v.post_id = p.id AND v.upvote = FALSE);
@@ -2,9 +2,11 @@ package com.cuet.sphere.config;
 
 import com.cuet.sphere.config.JwtTokenValidator;
 import com.cuet.sphere.config.JwtProvider;
+import com.cuet.sphere.service.RateLimiter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -27,6 +29,7 @@ import java.util.Arrays;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class AppConfig {
 
     private static final Logger logger = LoggerFactory.getLogger(AppConfig.class);
@@ -45,7 +48,8 @@ public class AppConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider,
+                                                   RateLimiter rateLimiter, RateLimitProperties rateLimitProperties) throws Exception {
         logger.debug("Configuring security filter chain");
         
         http
@@ -63,6 +67,8 @@ public class AppConfig {
                 })
                 .authenticationProvider(authenticationProvider)
                 .addFilterBefore(jwtTokenValidator(), BasicAuthenticationFilter.class)
+                // Not a bean, so it only runs here, after the JWT has been read
+                .addFilterAfter(new RateLimitFilter(rateLimiter, rateLimitProperties), JwtTokenValidator.class)
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .httpBasic(httpBasic -> httpBasic.disable())
@@ -80,7 +86,8 @@ public class AppConfig {
         configuration.setAllowedOrigins(Arrays.asList(allowedOrigins.split(",")));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "X-RateLimit-Limit", "X-RateLimit-Remaining",
+                "X-RateLimit-Reset", "Retry-After"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -0,0 +1,109 @@
+package com.cuet.sphere.config;
+
+import com.cuet.sphere.service.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies the per-route limits from RateLimitProperties.
+ *
+ * Runs in the security chain right after JwtTokenValidator so the signed-in user is
+ * known. The IP and user buckets are checked together and a token is taken from both
+ * or neither, so a request rejected by one limit never spends the other. Responses
+ * carry X-RateLimit-Limit/Remaining/Reset for the user bucket (the IP bucket for
+ * anonymous callers, or whichever bucket rejected); a rejected request gets 429 with
+ * Retry-After.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Map.Entry<String, RateLimitProperties.Route> match = properties.isEnabled() ? findRoute(request) : null;
+        if (match == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String routeName = match.getKey();
+        RateLimitProperties.Route route = match.getValue();
+        List<RateLimiter.Limit> limits = new ArrayList<>(2);
+
+        if (route.getIpCapacity() > 0) {
+            limits.add(new RateLimiter.Limit(routeName + "|ip|" + request.getRemoteAddr(),
+                route.getIpCapacity(), route.getIpRefillPerMinute()));
+        }
+
+        // Last, so its numbers are the ones reported when both buckets allow the request
+        String user = currentUser();
+        if (user != null && route.getUserCapacity() > 0) {
+            limits.add(new RateLimiter.Limit(routeName + "|user|" + user,
+                route.getUserCapacity(), route.getUserRefillPerMinute()));
+        }
+
+        if (limits.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RateLimiter.Probe probe = rateLimiter.tryConsume(limits);
+
+        response.setHeader("X-RateLimit-Limit", String.valueOf(probe.limit()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(probe.remaining()));
+        response.setHeader("X-RateLimit-Reset", String.valueOf(probe.resetSeconds()));
+
+        if (!probe.allowed()) {
+            response.setHeader("Retry-After", String.valueOf(probe.retryAfterSeconds()));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"success\":false,\"message\":\"Too many requests, retry in "
+                + probe.retryAfterSeconds() + " seconds\"}");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private Map.Entry<String, RateLimitProperties.Route> findRoute(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Map.Entry<String, RateLimitProperties.Route> entry : properties.getRoutes().entrySet()) {
+            RateLimitProperties.Route route = entry.getValue();
+            if (route.getPath() != null
+                    && route.getMethod().equalsIgnoreCase(request.getMethod())
+                    && pathMatcher.match(route.getPath(), path)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,56 @@
+package com.cuet.sphere.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rate limits for write endpoints, one entry per route under ratelimit.routes.<name>.
+ *
+ * Every route has its own buckets: a request is charged to the caller's IP bucket and,
+ * when signed in, also to the user's bucket. A capacity of 0 turns that bucket off.
+ * The IP is the request's remote address, which server.forward-headers-strategy resolves
+ * to the client behind the platform proxy.
+ */
+@ConfigurationProperties("ratelimit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Map<String, Route> getRoutes() { return routes; }
+    public void setRoutes(Map<String, Route> routes) { this.routes = routes; }
+
+    public static class Route {
+        private String method = "POST";
+        // Ant-style pattern, e.g. /api/posts/*/comments
+        private String path;
+        private int userCapacity;
+        private double userRefillPerMinute;
+        private int ipCapacity;
+        private double ipRefillPerMinute;
+
+        public String getMethod() { return method; }
+        public void setMethod(String method) { this.method = method; }
+
+        public String getPath() { return path; }
+        public void setPath(String path) { this.path = path; }
+
+        public int getUserCapacity() { return userCapacity; }
+        public void setUserCapacity(int userCapacity) { this.userCapacity = userCapacity; }
+
+        public double getUserRefillPerMinute() { return userRefillPerMinute; }
+        public void setUserRefillPerMinute(double userRefillPerMinute) { this.userRefillPerMinute = userRefillPerMinute; }
+
+        public int getIpCapacity() { return ipCapacity; }
+        public void setIpCapacity(int ipCapacity) { this.ipCapacity = ipCapacity; }
+
+        public double getIpRefillPerMinute() { return ipRefillPerMinute; }
+        public void setIpRefillPerMinute(double ipRefillPerMinute) { this.ipRefillPerMinute = ipRefillPerMinute; }
+    }
+}
@@ -0,0 +1,79 @@
+package com.cuet.sphere.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends read-only transactions to the read pool and everything else to the primary.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction manager asks for a
+ * connection before the read-only flag is bound, and the lazy proxy defers the lookup
+ * to the first statement. Once a read-write transaction has run in the current HTTP
+ * request, later read-only transactions of that request stay on the primary, so a
+ * request never reads around its own writes through a lagging replica.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, READ }
+
+    static final String WROTE_ATTRIBUTE = ReadWriteRoutingDataSource.class.getName() + ".WROTE";
+
+    private final LongAdder primaryLookups = new LongAdder();
+    private final LongAdder readLookups = new LongAdder();
+    private final LongAdder pinnedReads = new LongAdder();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource read) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Route.PRIMARY, primary);
+        targets.put(Route.READ, read);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                markWrite();
+            }
+            primaryLookups.increment();
+            return Route.PRIMARY;
+        }
+        if (wroteInThisRequest()) {
+            pinnedReads.increment();
+            return Route.PRIMARY;
+        }
+        readLookups.increment();
+        return Route.READ;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("primary", primaryLookups.sum());
+        stats.put("read", readLookups.sum());
+        stats.put("pinnedToPrimary", pinnedReads.sum());
+        return stats;
+    }
+
+    // Scoped to the request, so pooled threads and background jobs never inherit it
+    private static void markWrite() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(WROTE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static boolean wroteInThisRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                && Boolean.TRUE.equals(attributes.getAttribute(WROTE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+}
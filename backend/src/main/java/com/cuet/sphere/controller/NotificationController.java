@@ -27,15 +27,25 @@ public class NotificationController {
     private UserService userService;
     
     @GetMapping
-    public ResponseEntity<List<NotificationDTO>> getUserNotifications() {
+    public ResponseEntity<?> getUserNotifications(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean unreadOnly) {
         try {
             Long userId = getCurrentUserId();
             if (userId == null) {
                 return ResponseEntity.badRequest().build();
             }
             
+            // Cursor mode: "?cursor=" (empty) or unreadOnly for the first slice, then the returned nextCursor
+            if (cursor != null || unreadOnly) {
+                return ResponseEntity.ok(notificationService.getUserNotificationsSlice(userId, cursor, size, unreadOnly));
+            }
+            
             List<NotificationDTO> notifications = notificationService.getUserNotifications(userId);
             return ResponseEntity.ok(notifications);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
         } catch (Exception e) {
             System.err.println("Error fetching notifications: " + e.getMessage());
             return ResponseEntity.internalServerError().build();
@@ -1,8 +1,10 @@
 package com.cuet.sphere.controller;
 
 import com.cuet.sphere.dto.CommentDTO;
+import com.cuet.sphere.dto.CursorPage;
 import com.cuet.sphere.dto.PostDTO;
 import com.cuet.sphere.dto.ReplyDTO;
+import com.cuet.sphere.dto.TagCountDTO;
 import com.cuet.sphere.model.Comment;
 import com.cuet.sphere.model.Post;
 import com.cuet.sphere.model.Reply;
@@ -16,14 +18,22 @@ import com.cuet.sphere.response.ReplyRequest;
 import com.cuet.sphere.response.VoteRequest;
 import com.cuet.sphere.service.CommentService;
 import com.cuet.sphere.service.NotificationService;
+import com.cuet.sphere.service.PostJsonCache;
 import com.cuet.sphere.service.PostService;
+import com.cuet.sphere.service.PostTagService;
 import com.cuet.sphere.service.ReplyService;
 import com.cuet.sphere.service.UserService;
+import com.cuet.sphere.service.VoteBuffer;
+import com.cuet.sphere.service.ViewCounter;
 import com.cuet.sphere.service.VoteService;
+import com.fasterxml.jackson.databind.util.RawValue;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -31,6 +41,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
 import java.util.List;
@@ -45,6 +56,11 @@ public class PostController {
 
     private static final Logger logger = LoggerFactory.getLogger(PostController.class);
 
+    // Clients keep the body but revalidate with If-None-Match on every request;
+    // the feed carries per-user saved flags, so shared caches must not store it
+    private static final CacheControl FEED_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+    private static final CacheControl POST_CACHE_CONTROL = CacheControl.noCache();
+
     private final PostService postService;
     private final CommentService commentService;
     private final ReplyService replyService;
@@ -52,8 +68,12 @@ public class PostController {
     private final UserService userService;
     private final NotificationService notificationService;
     private final SavedPostRepository savedPostRepository;
+    private final PostTagService postTagService;
+    private final VoteBuffer voteBuffer;
+    private final ViewCounter viewCounter;
+    private final PostJsonCache postJsonCache;
 
-    public PostController(PostService postService, CommentService commentService, ReplyService replyService, VoteService voteService, UserService userService, NotificationService notificationService, SavedPostRepository savedPostRepository) {
+    public PostController(PostService postService, CommentService commentService, ReplyService replyService, VoteService voteService, UserService userService, NotificationService notificationService, SavedPostRepository savedPostRepository, PostTagService postTagService, VoteBuffer voteBuffer, ViewCounter viewCounter, PostJsonCache postJsonCache) {
         this.postService = postService;
         this.commentService = commentService;
         this.replyService = replyService;
@@ -61,26 +81,73 @@ public class PostController {
         this.userService = userService;
         this.notificationService = notificationService;
         this.savedPostRepository = savedPostRepository;
+        this.postTagService = postTagService;
+        this.voteBuffer = voteBuffer;
+        this.viewCounter = viewCounter;
+        this.postJsonCache = postJsonCache;
     }
 
     @GetMapping
-    public ResponseEntity<Page<PostDTO>> getAllPosts(
+    public ResponseEntity<?> getAllPosts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir,
-            @RequestParam(defaultValue = "false") boolean includeComments
+            @RequestParam(defaultValue = "false") boolean includeComments,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String tag,
+            WebRequest webRequest
     ) {
         try {
+            if (tag != null) {
+                logger.debug("GET /api/posts called with tag filter - Tag: {}, Page: {}, Size: {}", tag, page, size);
+                if (cursor != null) {
+                    return ResponseEntity.ok(toFragments(postService.getTagFeedSlice(tag, cursor, size, getCurrentUser().orElse(null))));
+                }
+                return ResponseEntity.ok(toFragments(postService.getPostsByTagPaginated(tag, page, size, getCurrentUser().orElse(null))));
+            }
+            
+            if ("hot".equalsIgnoreCase(sort)) {
+                logger.debug("GET /api/posts called with hot ranking - Page: {}, Size: {}", page, size);
+                Page<PostDTO> hotPosts = postService.getHotPostsPaginated(page, size, getCurrentUser().orElse(null));
+                return ResponseEntity.ok(toFragments(hotPosts));
+            }
+            
+            // Cursor mode: "?cursor=" (empty) for the first slice, then the returned nextCursor
+            if (cursor != null) {
+                logger.debug("GET /api/posts called in cursor mode - Size: {}", size);
+                CursorPage<PostDTO> slice = postService.getFeedSlice(cursor, size, getCurrentUser().orElse(null));
+                return ResponseEntity.ok(toFragments(slice));
+            }
+            
             logger.debug("GET /api/posts called with pagination - Page: {}, Size: {}, Sort: {} {}, Include Comments: {}", page, size, sortBy, sortDir, includeComments);
             
             Pageable pageable = PageRequest.of(page, size, 
                 sortDir.equals("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, sortBy);
             
-            Page<PostDTO> posts = postService.getAllPostsPaginated(pageable, includeComments);
+            User currentUser = getCurrentUser().orElse(null);
+            
+            // Conditional GET: an unchanged page is answered with 304 before any DTO is built
+            String etag = null;
+            if (!includeComments) {
+                etag = postService.getFeedETag(pageable, currentUser);
+                if (webRequest.checkNotModified(etag)) {
+                    return notModified(etag, FEED_CACHE_CONTROL);
+                }
+            }
+            
+            Page<PostDTO> posts = postService.getAllPostsPaginated(pageable, includeComments, currentUser);
             logger.debug("Posts fetched successfully, count: {}, total pages: {}, total elements: {}", 
                          posts.getContent().size(), posts.getTotalPages(), posts.getTotalElements());
-            return ResponseEntity.ok(posts);
+            if (etag == null) {
+                return ResponseEntity.ok(posts);
+            }
+            return ResponseEntity.ok().eTag(etag).cacheControl(FEED_CACHE_CONTROL).body(toFragments(posts));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid feed request: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                .body(java.util.Map.of("success", false, "message", e.getMessage()));
         } catch (Exception e) {
             logger.error("Error in getAllPosts: {}", e.getMessage(), e);
             e.printStackTrace();
@@ -88,11 +155,83 @@ public class PostController {
         }
     }
 
+    // Posts from the current user's department and batch, newest first (cursor paginated)
+    @GetMapping("/timeline")
+    public ResponseEntity<?> getTimeline(
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor
+    ) {
+        try {
+            Optional<User> currentUser = getCurrentUser();
+            if (currentUser.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+            return ResponseEntity.ok(postService.getTimelineSlice(currentUser.get(), cursor, size));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid timeline request: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                .body(java.util.Map.of("success", false, "message", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error in getTimeline: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/tags/trending")
+    public ResponseEntity<List<TagCountDTO>> getTrendingTags(@RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(postTagService.getTrendingTags(limit));
+        } catch (Exception e) {
+            logger.error("Error in getTrendingTags: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchPosts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor
+    ) {
+        try {
+            logger.debug("GET /api/posts/search called - Query: {}, Size: {}", q, size);
+            CursorPage<PostDTO> results = postService.searchPosts(q, cursor, size, getCurrentUser().orElse(null));
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid search request: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                .body(java.util.Map.of("success", false, "message", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error in searchPosts: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     @GetMapping("/{postId}")
-    public ResponseEntity<PostDTO> getPost(@PathVariable Long postId) {
+    public ResponseEntity<PostDTO> getPost(@PathVariable Long postId, WebRequest webRequest) {
+        String etag = postService.getPostETag(postId);
+        if (etag == null) return ResponseEntity.notFound().build();
+        if (webRequest.checkNotModified(etag)) {
+            return notModified(etag, POST_CACHE_CONTROL);
+        }
+        
         PostDTO post = postService.getPostWithUserInfo(postId);
         if (post == null) return ResponseEntity.notFound().build();
-        return ResponseEntity.ok(post);
+        return ResponseEntity.ok().eTag(etag).cacheControl(POST_CACHE_CONTROL).body(post);
+    }
+    
+    private static <T> ResponseEntity<T> notModified(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+    }
+
+    // Feed items as pre-serialized JSON; the page or slice around them is serialized as before
+    private Page<RawValue> toFragments(Page<PostDTO> posts) {
+        return posts.map(postJsonCache::fragment);
+    }
+
+    private CursorPage<RawValue> toFragments(CursorPage<PostDTO> slice) {
+        List<RawValue> content = slice.getContent().stream().map(postJsonCache::fragment).toList();
+        return new CursorPage<>(content, slice.getNextCursor(), slice.isHasNext());
     }
 
     @PostMapping
@@ -138,17 +277,9 @@ public class PostController {
             post.setTags(request.tags);
             post.setCreatedAt(java.time.LocalDateTime.now());
             post.setUpdatedAt(java.time.LocalDateTime.now());
+            // Admin notifications and emails are queued with the post and sent by OutboxDispatcher
             Post createdPost = postService.createPost(post);
             
-            // Send notification to admins about new post
-            try {
-                notificationService.createNewPostAdminNotification(createdPost, user);
-                logger.debug("Admin notification sent for new post: {}", createdPost.getId());
-            } catch (Exception e) {
-                logger.error("Error sending admin notification for new post: {}", e.getMessage(), e);
-                // Don't fail post creation if notification fails
-            }
-            
             PostDTO postDTO = postService.convertToDTO(createdPost);
             return ResponseEntity.created(URI.create("/api/posts/" + createdPost.getId())).body(postDTO);
         } catch (Exception e) {
@@ -215,13 +346,28 @@ public class PostController {
     }
 
     @GetMapping("/{postId}/comments")
-    public ResponseEntity<List<CommentDTO>> getCommentsForPost(@PathVariable Long postId) {
+    public ResponseEntity<?> getCommentsForPost(
+            @PathVariable Long postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
         Post post = postService.getPost(postId).orElse(null);
         if (post == null) return ResponseEntity.notFound().build();
         
-        List<CommentDTO> commentDTOs = post.getComments().stream()
-            .map(comment -> commentService.convertToDTO(comment))
-            .collect(java.util.stream.Collectors.toList());
+        // Cursor mode: "?cursor=" (empty) for the first page, then the returned nextCursor
+        if (cursor != null) {
+            try {
+                return ResponseEntity.ok(commentService.getCommentPage(postId, cursor, size != null ? size : 20));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest()
+                    .body(java.util.Map.of("success", false, "message", e.getMessage()));
+            }
+        }
+        
+        // Without a cursor: a plain list, the whole thread unless size asks for just the first page
+        List<CommentDTO> commentDTOs = size != null
+            ? commentService.getCommentPage(postId, null, size).getContent()
+            : commentService.convertToDTOs(post.getComments());
             
         return ResponseEntity.ok(commentDTOs);
     }
@@ -279,13 +425,28 @@ public class PostController {
     }
 
     @GetMapping("/comments/{commentId}/replies")
-    public ResponseEntity<List<ReplyDTO>> getRepliesForComment(@PathVariable Long commentId) {
+    public ResponseEntity<?> getRepliesForComment(
+            @PathVariable Long commentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
         Comment comment = commentService.getComment(commentId).orElse(null);
         if (comment == null) return ResponseEntity.notFound().build();
         
-        List<ReplyDTO> replyDTOs = comment.getReplies().stream()
-            .map(reply -> replyService.convertToDTO(reply))
-            .collect(java.util.stream.Collectors.toList());
+        // Cursor mode: "?cursor=" (empty) for the first page, then the returned nextCursor
+        if (cursor != null) {
+            try {
+                return ResponseEntity.ok(replyService.getReplyPage(commentId, cursor, size != null ? size : 20));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest()
+                    .body(java.util.Map.of("success", false, "message", e.getMessage()));
+            }
+        }
+        
+        // Without a cursor: a plain list, every reply unless size asks for just the first page
+        List<ReplyDTO> replyDTOs = size != null
+            ? replyService.getReplyPage(commentId, null, size).getContent()
+            : replyService.convertToDTOs(comment.getReplies());
             
         return ResponseEntity.ok(replyDTOs);
     }
@@ -354,15 +515,17 @@ public class PostController {
         Post post = postService.getPost(postId).orElse(null);
         if (post == null) return ResponseEntity.notFound().build();
         
+        // Persisted counters plus clicks still waiting in the vote buffer
+        int[] pending = voteBuffer.getProjectedDelta(postId);
         Map<String, Object> voteCounts = new HashMap<>();
-        voteCounts.put("upvotes", post.getUpvotes());
-        voteCounts.put("downvotes", post.getDownvotes());
+        voteCounts.put("upvotes", Math.max(0, post.getUpvotes() + pending[0]));
+        voteCounts.put("downvotes", Math.max(0, post.getDownvotes() + pending[1]));
         
         return ResponseEntity.ok(voteCounts);
     }
 
     @PostMapping("/{postId}/vote")
-    public ResponseEntity<Vote> createOrUpdateVote(@PathVariable Long postId, @RequestBody VoteRequest request) {
+    public ResponseEntity<Map<String, Object>> createOrUpdateVote(@PathVariable Long postId, @RequestBody VoteRequest request) {
         Post post = postService.getPost(postId).orElse(null);
         if (post == null) return ResponseEntity.notFound().build();
         
@@ -386,33 +549,36 @@ public class PostController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         
-        // Check if user already voted on this post
-        Vote existingVote = voteService.findByPostIdAndUserId(postId, userId);
+        if (!"UPVOTE".equals(request.voteType) && !"DOWNVOTE".equals(request.voteType)) {
+            return ResponseEntity.badRequest().build();
+        }
         
-        if (existingVote != null) {
-            if (existingVote.getVoteType().equals(request.voteType)) {
-                // Same vote type clicked - remove the vote
-                voteService.deleteVote(existingVote.getId());
-                return ResponseEntity.noContent().build();
-            } else {
-                // Different vote type - update existing vote
-                existingVote.setVoteType(request.voteType);
-                existingVote.setUpdatedAt(java.time.LocalDateTime.now());
-                Vote updatedVote = voteService.createVote(existingVote);
-                return ResponseEntity.ok(updatedVote);
-            }
-        } else {
-            // Create new vote
-            Vote vote = new Vote();
-            vote.setUserId(userId);
-            vote.setPost(post);
-            vote.setVoteType(request.voteType);
-            vote.setCreatedAt(java.time.LocalDateTime.now());
-            vote.setUpdatedAt(java.time.LocalDateTime.now());
-            
-            Vote createdVote = voteService.createVote(vote);
-            return ResponseEntity.created(URI.create("/api/posts/" + postId + "/votes/" + createdVote.getId())).body(createdVote);
+        // Recorded in the write-behind buffer; clicking the same type again removes the vote.
+        // The row and the post counters are written by the buffer's next flush.
+        Boolean vote = voteBuffer.toggle(postId, userId, "UPVOTE".equals(request.voteType));
+        int[] pending = voteBuffer.getProjectedDelta(postId);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("postId", postId);
+        response.put("voteType", vote == null ? null : (vote ? "UPVOTE" : "DOWNVOTE"));
+        response.put("removed", vote == null);
+        response.put("upvotes", Math.max(0, post.getUpvotes() + pending[0]));
+        response.put("downvotes", Math.max(0, post.getDownvotes() + pending[1]));
+        return ResponseEntity.ok(response);
+    }
+
+    // Counted in memory and flushed in batches, so a view never touches the post row
+    @PostMapping("/{postId}/views")
+    public ResponseEntity<Void> recordView(@PathVariable Long postId, HttpServletRequest request) {
+        if (!viewCounter.recordView(postId, getViewerKey(request))) {
+            return ResponseEntity.notFound().build();
         }
+        return ResponseEntity.accepted().build();
+    }
+
+    @GetMapping("/{postId}/views")
+    public ResponseEntity<Map<String, Object>> getViewCounts(@PathVariable Long postId) {
+        return ResponseEntity.ok(viewCounter.getViewStats(postId));
     }
 
     @PutMapping("/comments/{commentId}")
@@ -420,6 +586,7 @@ public class PostController {
         Comment comment = commentService.getComment(commentId).orElse(null);
         if (comment == null) return ResponseEntity.notFound().build();
         comment.setText(request.getText());
+        comment.setUpdatedAt(java.time.LocalDateTime.now());
         return ResponseEntity.ok(commentService.createComment(comment));
     }
 
@@ -434,6 +601,7 @@ public class PostController {
         Reply reply = replyService.getReply(replyId).orElse(null);
         if (reply == null) return ResponseEntity.notFound().build();
         reply.setText(request.getText());
+        reply.setUpdatedAt(java.time.LocalDateTime.now());
         return ResponseEntity.ok(replyService.createReply(reply));
     }
 
@@ -445,7 +613,9 @@ public class PostController {
 
     @DeleteMapping("/{postId}/votes/{voteId}")
     public ResponseEntity<Void> deleteVote(@PathVariable Long postId, @PathVariable Long voteId) {
-        voteService.deleteVote(voteId);
+        voteService.getVote(voteId)
+            .filter(vote -> vote.getPost().getId().equals(postId))
+            .ifPresent(vote -> voteBuffer.remove(postId, vote.getUserId()));
         return ResponseEntity.ok().build();
     }
 
@@ -474,6 +644,19 @@ public class PostController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         
+        // An unflushed click wins over the stored row
+        Optional<VoteBuffer.PendingVote> pendingVote = voteBuffer.getPendingVote(postId, userId);
+        if (pendingVote.isPresent()) {
+            Boolean upvote = pendingVote.get().getDesired();
+            if (upvote == null) {
+                return ResponseEntity.notFound().build();
+            }
+            Vote vote = new Vote();
+            vote.setUserId(userId);
+            vote.setUpvote(upvote);
+            return ResponseEntity.ok(vote);
+        }
+        
         return voteService.getUserVoteForPost(postId, userId)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -585,12 +768,9 @@ public class PostController {
             Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, "savedAt");
             Page<Post> savedPosts = savedPostRepository.findPostsByUserIdOrderBySavedAtDesc(user.getId(), pageable);
             
-            // Convert to DTOs with proper formatting
-            Page<PostDTO> savedPostDTOs = savedPosts.map(post -> {
-                PostDTO dto = postService.convertToDTO(post);
-                dto.setSaved(true); // Mark as saved since these are saved posts
-                return dto;
-            });
+            // Convert to DTOs with proper formatting (saved flags resolved in one query)
+            List<PostDTO> postDTOs = postService.convertToDTOs(savedPosts.getContent(), user);
+            Page<PostDTO> savedPostDTOs = new PageImpl<>(postDTOs, pageable, savedPosts.getTotalElements());
             
             return ResponseEntity.ok(java.util.Map.of(
                 "success", true,
@@ -609,4 +789,24 @@ public class PostController {
                 .body(java.util.Map.of("success", false, "message", "Failed to get saved posts"));
         }
     }
+
+    // Resolve the authenticated user from the JWT subject (email), if any
+    private Optional<User> getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() ||
+            "anonymousUser".equals(authentication.getName())) {
+            return Optional.empty();
+        }
+        return userService.getUserByEmail(authentication.getName());
+    }
+
+    // Signed-in viewers are identified by their email (no lookup needed), anonymous ones by address
+    private String getViewerKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() &&
+            !"anonymousUser".equals(authentication.getName())) {
+            return "user:" + authentication.getName();
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
 }
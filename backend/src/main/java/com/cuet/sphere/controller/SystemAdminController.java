@@ -1,18 +1,39 @@
 package com.cuet.sphere.controller;
 
+import com.cuet.sphere.config.ReadWriteRoutingDataSource;
 import com.cuet.sphere.model.User;
 import com.cuet.sphere.response.CrAssignmentRequest;
 import com.cuet.sphere.response.CrAssignmentResponse;
+import com.cuet.sphere.service.AuthorCache;
+import com.cuet.sphere.service.HotFeedCache;
+import com.cuet.sphere.service.OutboxDispatcher;
+import com.cuet.sphere.service.PostDeletionWorker;
+import com.cuet.sphere.service.PostExportService;
+import com.cuet.sphere.service.PostJsonCache;
+import com.cuet.sphere.service.PostSearchIndex;
+import com.cuet.sphere.service.RateLimiter;
 import com.cuet.sphere.service.SystemAdminService;
+import com.cuet.sphere.service.ViewCounter;
+import com.cuet.sphere.service.VoteBuffer;
 import com.cuet.sphere.exception.UserException;
 import com.cuet.sphere.repository.UserRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -25,6 +46,43 @@ public class SystemAdminController {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private HotFeedCache hotFeedCache;
+    
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+    
+    @Autowired
+    private VoteBuffer voteBuffer;
+    
+    @Autowired
+    private PostExportService postExportService;
+    
+    @Autowired
+    private ViewCounter viewCounter;
+    
+    @Autowired
+    private PostDeletionWorker postDeletionWorker;
+    
+    @Autowired
+    private PostJsonCache postJsonCache;
+    
+    @Autowired
+    private AuthorCache authorCache;
+    
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+    
+    @Autowired
+    private RateLimiter rateLimiter;
+    
+    @Value("${posts.export.timeout.ms:600000}")
+    private long exportTimeoutMs;
+    
+    // Only present when a read pool is configured
+    @Autowired
+    private ObjectProvider<ReadWriteRoutingDataSource> routingDataSource;
+    
     @PostMapping("/assign-cr")
     public ResponseEntity<CrAssignmentResponse> assignCrRole(@RequestBody CrAssignmentRequest request) {
         try {
@@ -106,6 +164,53 @@ public class SystemAdminController {
         }
     }
     
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        try {
+            User currentUser = getCurrentUser();
+            if (!systemAdminService.isSystemAdmin(currentUser)) {
+                return ResponseEntity.status(403).build();
+            }
+            
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("hotFeed", hotFeedCache.getStats());
+            stats.put("postSearchIndex", postSearchIndex.getStats());
+            stats.put("voteBuffer", voteBuffer.getStats());
+            stats.put("viewCounter", viewCounter.getStats());
+            stats.put("postDeletion", postDeletionWorker.getStats());
+            stats.put("postJson", postJsonCache.getStats());
+            stats.put("authors", authorCache.getStats());
+            stats.put("outbox", outboxDispatcher.getStats());
+            stats.put("rateLimit", rateLimiter.getStats());
+            routingDataSource.ifAvailable(routing -> stats.put("dataSourceRouting", routing.getStats()));
+            return ResponseEntity.ok(stats);
+        } catch (Exception e) {
+            return ResponseEntity.status(500).build();
+        }
+    }
+    
+    // All posts as NDJSON, streamed from a database cursor so memory use stays flat
+    @GetMapping("/export/posts")
+    public ResponseEntity<StreamingResponseBody> exportPosts(HttpServletRequest request) {
+        try {
+            User currentUser = getCurrentUser();
+            if (!systemAdminService.isSystemAdmin(currentUser)) {
+                return ResponseEntity.status(403).build();
+            }
+        } catch (Exception e) {
+            return ResponseEntity.status(403).build();
+        }
+        
+        // Only this request gets the long timeout; other async endpoints keep the default
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportTimeoutMs);
+        StreamingResponseBody body = postExportService::exportPosts;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"posts-" + LocalDate.now() + ".ndjson\"")
+                .body(body);
+    }
+    
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.isAuthenticated()) {
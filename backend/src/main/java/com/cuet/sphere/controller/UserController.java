@@ -2,6 +2,7 @@ package com.cuet.sphere.controller;
 
 import com.cuet.sphere.model.User;
 import com.cuet.sphere.repository.UserRepository;
+import com.cuet.sphere.service.AuthorCache;
 import com.cuet.sphere.service.UserService;
 import com.cuet.sphere.exception.UserException;
 import org.slf4j.Logger;
@@ -29,6 +30,9 @@ public class UserController {
     
     @Autowired
     private UserService userService;
+    
+    @Autowired
+    private AuthorCache authorCache;
 
     @PutMapping("/profile")
     public ResponseEntity<Map<String, Object>> updateUserProfile(@RequestBody Map<String, Object> profileData) {
@@ -90,6 +94,8 @@ public class UserController {
             if (!profileData.containsKey("profilePicture") && !profileData.containsKey("backgroundImage")) {
                 updatedUser = userRepository.save(user);
             }
+            // The name may have changed; posts, comments and notices pick it up on their next read
+            authorCache.evict(updatedUser.getId());
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -175,6 +181,7 @@ public class UserController {
             
             user.setProfilePicture(testProfilePictureUrl);
             userRepository.save(user);
+            authorCache.evict(user.getId());
 
             logger.debug("Set test profile picture for user: {}", user.getEmail());
 
@@ -0,0 +1,50 @@
+package com.cuet.sphere.dto;
+
+import com.cuet.sphere.model.User;
+
+/**
+ * The author fields shown next to posts, comments, replies, notices and resources.
+ * Immutable, so one instance can be shared by every response that cites the user.
+ */
+public final class AuthorSummary {
+
+    // Shown when the author row is missing
+    public static final AuthorSummary UNKNOWN =
+            new AuthorSummary(null, "Unknown User", "unknown@example.com", "0000000", null);
+
+    private final Long id;
+    private final String fullName;
+    private final String email;
+    private final String studentId;
+    private final String profilePicture;
+
+    public AuthorSummary(Long id, String fullName, String email, String studentId, String profilePicture) {
+        this.id = id;
+        this.fullName = fullName;
+        this.email = email;
+        this.studentId = studentId;
+        this.profilePicture = profilePicture;
+    }
+
+    // Projection constructor; studentId is assembled like User.getFullStudentId()
+    public AuthorSummary(Long id, String fullName, String email, String batch, String department,
+                         String studentId, String profilePicture) {
+        this(id, fullName, email, batch + department + studentId, profilePicture);
+    }
+
+    public static AuthorSummary of(User user) {
+        return new AuthorSummary(user.getId(), user.getFullName(), user.getEmail(),
+                user.getFullStudentId(), user.getProfilePicture());
+    }
+
+    public Long getId() { return id; }
+
+    public String getFullName() { return fullName; }
+
+    public String getEmail() { return email; }
+
+    // Full student id, e.g. "2204015"
+    public String getStudentId() { return studentId; }
+
+    public String getProfilePicture() { return profilePicture; }
+}
@@ -16,6 +16,7 @@ public class CommentDTO {
     private String studentId;
     private String profilePicture;
     
+    private int replyCount;
     private List<ReplyDTO> replies;
 
     // Constructors
@@ -72,6 +73,9 @@ public class CommentDTO {
     public String getProfilePicture() { return profilePicture; }
     public void setProfilePicture(String profilePicture) { this.profilePicture = profilePicture; }
 
+    public int getReplyCount() { return replyCount; }
+    public void setReplyCount(int replyCount) { this.replyCount = replyCount; }
+
     public List<ReplyDTO> getReplies() { return replies; }
     public void setReplies(List<ReplyDTO> replies) { this.replies = replies; }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.cuet.sphere.dto;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated listing. Unlike Spring's Page there is no
+ * total count, so producing it never requires a COUNT query.
+ */
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor; // null when there are no more items
+    private boolean hasNext;
+    private int size;
+
+    public CursorPage() {}
+
+    public CursorPage(List<T> content, String nextCursor, boolean hasNext) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+        this.size = content != null ? content.size() : 0;
+    }
+
+    public List<T> getContent() { return content; }
+    public void setContent(List<T> content) { this.content = content; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+}
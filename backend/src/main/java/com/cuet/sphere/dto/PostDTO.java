@@ -8,6 +8,9 @@ public class PostDTO {
     private String title;
     private String content;
     private String mediaUrl;
+    // Resized copies of an image mediaUrl; null until generated (clients fall back to mediaUrl)
+    private String thumbnailUrl;
+    private String feedImageUrl;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Long userId;
@@ -56,6 +59,18 @@ public class PostDTO {
         this.comments = comments;
     }
 
+    // Shallow copy, used to hand out cached DTOs without sharing per-request state (e.g. saved)
+    public PostDTO(PostDTO other) {
+        this(other.id, other.title, other.content, other.mediaUrl, other.createdAt, other.updatedAt,
+             other.userId, other.tags, other.author, other.authorEmail, other.studentId,
+             other.profilePicture, other.upvotes, other.downvotes, other.commentCount, other.comments);
+        this.saved = other.saved;
+        this.timestamp = other.timestamp;
+        this.image = other.image;
+        this.thumbnailUrl = other.thumbnailUrl;
+        this.feedImageUrl = other.feedImageUrl;
+    }
+
     // Getters and setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -69,6 +84,12 @@ public class PostDTO {
     public String getMediaUrl() { return mediaUrl; }
     public void setMediaUrl(String mediaUrl) { this.mediaUrl = mediaUrl; }
 
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
+
+    public String getFeedImageUrl() { return feedImageUrl; }
+    public void setFeedImageUrl(String feedImageUrl) { this.feedImageUrl = feedImageUrl; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { 
         this.createdAt = createdAt;
@@ -0,0 +1,19 @@
+package com.cuet.sphere.dto;
+
+public class TagCountDTO {
+    private String tag;
+    private int count;
+
+    public TagCountDTO() {}
+
+    public TagCountDTO(String tag, int count) {
+        this.tag = tag;
+        this.count = count;
+    }
+
+    public String getTag() { return tag; }
+    public void setTag(String tag) { this.tag = tag; }
+
+    public int getCount() { return count; }
+    public void setCount(int count) { this.count = count; }
+}
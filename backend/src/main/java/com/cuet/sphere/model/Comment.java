@@ -7,6 +7,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Table(
+    indexes = {
+        // Backs the paginated thread: WHERE post_id = ? ORDER BY created_at, id
+        @Index(name = "idx_comment_post_created_id", columnList = "post_id, created_at, id")
+    }
+)
 public class Comment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -29,6 +35,10 @@ public class Comment {
     @JsonManagedReference("comment-replies")
     private List<Reply> replies;
 
+    // Denormalized reply counter, only changed through CommentRepository.adjustReplyCount
+    @Column(name = "reply_count", nullable = false, updatable = false)
+    private int replyCount = 0;
+
     // Getters and setters
     public Long getId() { return id; }
     public Post getPost() { return post; }
@@ -56,4 +66,5 @@ public class Comment {
     }
     public List<Reply> getReplies() { return replies; }
     public void setReplies(List<Reply> replies) { this.replies = replies; }
+    public int getReplyCount() { return replyCount; }
 }
@@ -0,0 +1,48 @@
+package com.cuet.sphere.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One row per post of a (department, batch) group too large to fan out to every member.
+ * Readers in that group merge these rows into their own timeline at read time, using
+ * the (department, batch, post_created_at, post_id) index.
+ */
+@Entity
+@Table(
+    name = "group_timeline",
+    uniqueConstraints = @UniqueConstraint(
+        name = "unique_group_timeline_post",
+        columnNames = {"post_id"}
+    ),
+    indexes = {
+        @Index(name = "idx_group_timeline_group_created_post", columnList = "department, batch, post_created_at, post_id")
+    }
+)
+public class GroupTimelineEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "department", nullable = false)
+    private String department;
+
+    @Column(name = "batch", nullable = false)
+    private String batch;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "post_id", nullable = false)
+    private Post post;
+
+    @Column(name = "post_created_at", nullable = false)
+    private LocalDateTime postCreatedAt;
+
+    public GroupTimelineEntry() {}
+
+    public Long getId() { return id; }
+    public String getDepartment() { return department; }
+    public String getBatch() { return batch; }
+    public Post getPost() { return post; }
+    public LocalDateTime getPostCreatedAt() { return postCreatedAt; }
+}
@@ -6,7 +6,15 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
-@Table(name = "notifications")
+@Table(
+    name = "notifications",
+    indexes = {
+        // Backs the unread-only cursor listing and the unread count
+        @Index(name = "idx_notifications_user_read_created", columnList = "user_id, is_read, created_at"),
+        // Backs the full cursor listing: WHERE user_id = ? ORDER BY created_at DESC, id DESC
+        @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at")
+    }
+)
 public class Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,68 @@
+package com.cuet.sphere.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Side effect recorded in the same transaction as the change that caused it and
+ * delivered later by OutboxDispatcher, at least once, with retries.
+ *
+ * NEW_POST is written with the post; delivering it inserts the admin notifications and
+ * queues one NEW_POST_ADMIN_EMAIL entry per admin, so a failing email is retried on its
+ * own without repeating the notifications or the other emails.
+ *
+ * POST_IMAGE_DERIVATIVES is written whenever a post is saved with an image that has no
+ * resized copies yet; delivering it runs ImageDerivativeService.
+ */
+@Entity
+@Table(
+    name = "outbox_event",
+    indexes = @Index(name = "idx_outbox_event_next_attempt", columnList = "next_attempt_at, id")
+)
+public class OutboxEvent extends RetryableTask {
+
+    public enum Type {
+        NEW_POST,
+        NEW_POST_ADMIN_EMAIL,
+        POST_IMAGE_DERIVATIVES
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 40)
+    private Type type;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(name = "actor_user_id", nullable = false)
+    private Long actorUserId;
+
+    // Set for events addressed to one user (e.g. an email)
+    @Column(name = "recipient_user_id")
+    private Long recipientUserId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public OutboxEvent() {}
+
+    public OutboxEvent(Type type, Long postId, Long actorUserId, Long recipientUserId, LocalDateTime createdAt) {
+        super(createdAt);
+        this.type = type;
+        this.postId = postId;
+        this.actorUserId = actorUserId;
+        this.recipientUserId = recipientUserId;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+    public Type getType() { return type; }
+    public Long getPostId() { return postId; }
+    public Long getActorUserId() { return actorUserId; }
+    public Long getRecipientUserId() { return recipientUserId; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -1,11 +1,23 @@
 package com.cuet.sphere.model;
 
+import com.cuet.sphere.util.HotScore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
+import org.hibernate.annotations.SQLRestriction;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Table(
+    indexes = {
+        // Backs the keyset feed: ORDER BY created_at DESC, id DESC
+        @Index(name = "idx_post_created_at_id", columnList = "created_at, id"),
+        // Backs the hot feed: ORDER BY hot_score DESC, id DESC
+        @Index(name = "idx_post_hot_score_id", columnList = "hot_score, id")
+    }
+)
+// Tombstoned posts are invisible to every entity load and query until PostDeletionWorker purges them
+@SQLRestriction("deleted_at IS NULL")
 public class Post {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -34,6 +46,45 @@ public class Post {
     @JsonManagedReference("post-votes")
     private List<Vote> votes;
 
+    // Denormalized vote counters. Only changed through atomic UPDATE statements in
+    // PostRepository, never by entity saves, so concurrent votes cannot be lost.
+    @Column(name = "upvote_count", nullable = false, updatable = false)
+    private int upvoteCount = 0;
+
+    @Column(name = "downvote_count", nullable = false, updatable = false)
+    private int downvoteCount = 0;
+
+    // Denormalized number of top-level comments, maintained the same way as the vote counters
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private int commentCount = 0;
+
+    // Time-decayed ranking score (see HotScore), set on insert and then only
+    // recomputed by PostRankingService when this post's votes or comments change
+    @Column(name = "hot_score", nullable = false, updatable = false)
+    private double hotScore = 0;
+
+    // Set by PostRepository.tombstone when the post is deleted; never written by entity saves,
+    // so an edit racing with the delete cannot bring the post back
+    @Column(name = "deleted_at", updatable = false)
+    private LocalDateTime deletedAt;
+
+    // Width-bounded JPEG copies of an image mediaUrl, only written by
+    // PostRepository.setImageDerivatives. derivativesSourceUrl is the mediaUrl they were
+    // made from, so copies of a replaced image are ignored until new ones are ready.
+    @Column(name = "thumbnail_url", length = 512, insertable = false, updatable = false)
+    private String thumbnailUrl;
+
+    @Column(name = "feed_image_url", length = 512, insertable = false, updatable = false)
+    private String feedImageUrl;
+
+    @Column(name = "derivatives_source_url", length = 512, insertable = false, updatable = false)
+    private String derivativesSourceUrl;
+
+    @PrePersist
+    public void prePersist() {
+        this.hotScore = HotScore.compute(upvoteCount, downvoteCount, commentCount, createdAt);
+    }
+
     public Long getId() { return id; }
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
@@ -66,20 +117,36 @@ public class Post {
     public void setComments(List<Comment> comments) { this.comments = comments; }
     public List<Vote> getVotes() { return votes; }
     public void setVotes(List<Vote> votes) { this.votes = votes; }
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public String getFeedImageUrl() { return feedImageUrl; }
+    public String getDerivativesSourceUrl() { return derivativesSourceUrl; }
+    
+    public boolean hasImageDerivatives() {
+        return derivativesSourceUrl != null && derivativesSourceUrl.equals(mediaUrl);
+    }
+    
+    // Mirrors a successful PostRepository.setImageDerivatives on an already loaded entity
+    public void applyImageDerivatives(String sourceUrl, String thumbnailUrl, String feedImageUrl) {
+        this.derivativesSourceUrl = sourceUrl;
+        this.thumbnailUrl = thumbnailUrl;
+        this.feedImageUrl = feedImageUrl;
+    }
+    
+    public int getUpvoteCount() { return upvoteCount; }
+    public int getDownvoteCount() { return downvoteCount; }
+    public double getHotScore() { return hotScore; }
     
-    // Computed properties for frontend
+    // Computed properties for frontend (served from the counters, never from the votes collection)
     public int getUpvotes() {
-        if (votes == null) return 0;
-        return (int) votes.stream().filter(vote -> Boolean.TRUE.equals(vote.getUpvote())).count();
+        return upvoteCount;
     }
     
     public int getDownvotes() {
-        if (votes == null) return 0;
-        return (int) votes.stream().filter(vote -> Boolean.FALSE.equals(vote.getUpvote())).count();
+        return downvoteCount;
     }
     
     public int getCommentCount() {
-        if (comments == null) return 0;
-        return comments.size();
+        return commentCount;
     }
 }
@@ -0,0 +1,40 @@
+package com.cuet.sphere.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Queue entry for a tombstoned post whose rows and media still have to be removed.
+ * Created in the same transaction as the tombstone and deleted by PostDeletionWorker
+ * once the post is purged and its media is gone (or retries are exhausted).
+ */
+@Entity
+@Table(
+    name = "post_deletion",
+    indexes = @Index(name = "idx_post_deletion_next_attempt", columnList = "next_attempt_at")
+)
+public class PostDeletion extends RetryableTask {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "media_url", columnDefinition = "TEXT")
+    private String mediaUrl;
+
+    @Column(name = "requested_at", nullable = false)
+    private LocalDateTime requestedAt;
+
+    public PostDeletion() {}
+
+    public PostDeletion(Long postId, String mediaUrl, LocalDateTime requestedAt) {
+        super(requestedAt);
+        this.postId = postId;
+        this.mediaUrl = mediaUrl;
+        this.requestedAt = requestedAt;
+    }
+
+    public Long getPostId() { return postId; }
+    public String getMediaUrl() { return mediaUrl; }
+    public LocalDateTime getRequestedAt() { return requestedAt; }
+}
@@ -0,0 +1,34 @@
+package com.cuet.sphere.model;
+
+import com.cuet.sphere.util.HyperLogLog;
+import jakarta.persistence.*;
+
+/**
+ * Persisted view counters for one post: the total number of views and a HyperLogLog
+ * sketch of the viewers with its current estimate. Kept out of the post row so views
+ * never lock it, and only written by PostViewService in periodic batches.
+ */
+@Entity
+@Table(name = "post_view_stats")
+public class PostViewStats {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "view_count", nullable = false)
+    private long viewCount = 0;
+
+    @Column(name = "unique_viewers", nullable = false)
+    private long uniqueViewers = 0;
+
+    @Column(name = "viewer_sketch", nullable = false, length = HyperLogLog.SIZE_BYTES)
+    private byte[] viewerSketch;
+
+    public PostViewStats() {}
+
+    public Long getPostId() { return postId; }
+    public long getViewCount() { return viewCount; }
+    public long getUniqueViewers() { return uniqueViewers; }
+    public byte[] getViewerSketch() { return viewerSketch; }
+}
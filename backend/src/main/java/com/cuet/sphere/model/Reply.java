@@ -5,6 +5,12 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(
+    indexes = {
+        // Backs reply paging and previews: WHERE comment_id = ? ORDER BY created_at, id
+        @Index(name = "idx_reply_comment_created_id", columnList = "comment_id, created_at, id")
+    }
+)
 public class Reply {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,41 @@
+package com.cuet.sphere.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.MappedSuperclass;
+import java.time.LocalDateTime;
+
+/**
+ * Attempt tracking shared by the background work queues (PostDeletion, OutboxEvent):
+ * how often the task failed, when it may run next and why it last failed.
+ * The backoff itself is decided by RetryPolicy.
+ */
+@MappedSuperclass
+public abstract class RetryableTask {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    protected RetryableTask() {}
+
+    protected RetryableTask(LocalDateTime firstAttemptAt) {
+        this.nextAttemptAt = firstAttemptAt;
+    }
+
+    public int getAttempts() { return attempts; }
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public String getLastError() { return lastError; }
+
+    public void recordFailure(String error, LocalDateTime retryAt) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        this.nextAttemptAt = retryAt;
+    }
+}
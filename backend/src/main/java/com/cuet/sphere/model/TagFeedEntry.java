@@ -0,0 +1,51 @@
+package com.cuet.sphere.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One row per (tag, post), carrying the post's creation time so the tag feed can be
+ * read newest first straight from the (tag, post_created_at, post_id) index.
+ * Maintained by PostTagService alongside post_tags.
+ */
+@Entity
+@Table(
+    name = "tag_feed",
+    uniqueConstraints = @UniqueConstraint(
+        name = "unique_tag_feed_tag_post",
+        columnNames = {"tag", "post_id"}
+    ),
+    indexes = {
+        @Index(name = "idx_tag_feed_tag_created_post", columnList = "tag, post_created_at, post_id"),
+        @Index(name = "idx_tag_feed_post_id", columnList = "post_id")
+    }
+)
+public class TagFeedEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tag", nullable = false)
+    private String tag;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "post_id", nullable = false)
+    private Post post;
+
+    @Column(name = "post_created_at", nullable = false)
+    private LocalDateTime postCreatedAt;
+
+    public TagFeedEntry() {}
+
+    public TagFeedEntry(String tag, Post post, LocalDateTime postCreatedAt) {
+        this.tag = tag;
+        this.post = post;
+        this.postCreatedAt = postCreatedAt;
+    }
+
+    public Long getId() { return id; }
+    public String getTag() { return tag; }
+    public Post getPost() { return post; }
+    public LocalDateTime getPostCreatedAt() { return postCreatedAt; }
+}
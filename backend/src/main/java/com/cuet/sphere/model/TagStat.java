@@ -0,0 +1,32 @@
+package com.cuet.sphere.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Number of posts carrying each tag, kept up to date on post create/update/delete
+ * so trending tags never need a GROUP BY over post_tags.
+ */
+@Entity
+@Table(
+    name = "tag_stats",
+    indexes = @Index(name = "idx_tag_stats_post_count", columnList = "post_count")
+)
+public class TagStat {
+
+    @Id
+    @Column(name = "tag")
+    private String tag;
+
+    @Column(name = "post_count", nullable = false)
+    private int postCount;
+
+    public TagStat() {}
+
+    public TagStat(String tag, int postCount) {
+        this.tag = tag;
+        this.postCount = postCount;
+    }
+
+    public String getTag() { return tag; }
+    public int getPostCount() { return postCount; }
+}
@@ -0,0 +1,47 @@
+package com.cuet.sphere.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One row per (reader, post) in a precomputed timeline, carrying the post's creation
+ * time so a user's timeline is read newest first from the (user_id, post_created_at,
+ * post_id) index. Written by TimelineService when a post is fanned out to its
+ * author's department and batch.
+ */
+@Entity
+@Table(
+    name = "timeline_entry",
+    uniqueConstraints = @UniqueConstraint(
+        name = "unique_timeline_entry_user_post",
+        columnNames = {"user_id", "post_id"}
+    ),
+    indexes = {
+        @Index(name = "idx_timeline_entry_user_created_post", columnList = "user_id, post_created_at, post_id"),
+        @Index(name = "idx_timeline_entry_post_id", columnList = "post_id")
+    }
+)
+public class TimelineEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "post_id", nullable = false)
+    private Post post;
+
+    @Column(name = "post_created_at", nullable = false)
+    private LocalDateTime postCreatedAt;
+
+    public TimelineEntry() {}
+
+    public Long getId() { return id; }
+    public User getUser() { return user; }
+    public Post getPost() { return post; }
+    public LocalDateTime getPostCreatedAt() { return postCreatedAt; }
+}
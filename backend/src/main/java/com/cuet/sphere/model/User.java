@@ -6,7 +6,10 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
-@Table(name = "users")
+@Table(
+    name = "users",
+    indexes = @Index(name = "idx_users_department_batch", columnList = "u_department, u_batch")
+)
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -80,4 +83,10 @@ public class User {
     public boolean isCR() {
         return Role.CR.equals(this.role);
     }
+    
+    // Any profile change moves updatedAt, which post ETags use to notice new author details
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
 } 
\ No newline at end of file
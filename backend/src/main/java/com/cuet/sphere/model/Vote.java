@@ -4,6 +4,12 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 
 @Entity
+@Table(
+    uniqueConstraints = @UniqueConstraint(
+        name = "unique_vote_post_user",
+        columnNames = {"post_id", "user_id"}
+    )
+)
 public class Vote {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
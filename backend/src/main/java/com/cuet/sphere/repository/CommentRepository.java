@@ -1,8 +1,49 @@
 package com.cuet.sphere.repository;
 
 import com.cuet.sphere.model.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-}
 
+    // Atomic reply counter adjustment
+    @Modifying
+    @Transactional
+    @Query("UPDATE Comment c SET c.replyCount = c.replyCount + :delta WHERE c.id = :commentId")
+    int adjustReplyCount(@Param("commentId") Long commentId, @Param("delta") int delta);
+
+    // Set-based purge for a deleted post; replies must be purged first
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Comment c WHERE c.post.id = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+
+    // Keyset thread paging, oldest first, authors fetched in the same statement
+    @Query("""
+        SELECT c FROM Comment c
+        LEFT JOIN FETCH c.user
+        WHERE c.post.id = :postId
+        ORDER BY c.createdAt ASC, c.id ASC
+        """)
+    List<Comment> findCommentsFirstSlice(@Param("postId") Long postId, Pageable pageable);
+
+    @Query("""
+        SELECT c FROM Comment c
+        LEFT JOIN FETCH c.user
+        WHERE c.post.id = :postId
+          AND (c.createdAt > :createdAt
+               OR (c.createdAt = :createdAt AND c.id > :id))
+        ORDER BY c.createdAt ASC, c.id ASC
+        """)
+    List<Comment> findCommentsSliceAfter(@Param("postId") Long postId,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+}
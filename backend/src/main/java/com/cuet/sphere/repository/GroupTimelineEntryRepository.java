@@ -0,0 +1,62 @@
+package com.cuet.sphere.repository;
+
+import com.cuet.sphere.model.GroupTimelineEntry;
+import com.cuet.sphere.model.Post;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface GroupTimelineEntryRepository extends JpaRepository<GroupTimelineEntry, Long> {
+
+    // Group timeline - first slice, newest first along (department, batch, post_created_at, post_id)
+    @Query("""
+        SELECT p FROM GroupTimelineEntry e
+        JOIN e.post p
+        LEFT JOIN FETCH p.user
+        WHERE e.department = :department AND e.batch = :batch
+        ORDER BY e.postCreatedAt DESC, p.id DESC
+        """)
+    List<Post> findGroupTimelineFirstSlice(@Param("department") String department,
+                                           @Param("batch") String batch,
+                                           Pageable pageable);
+
+    // Group timeline - seek past the last (createdAt, id) the client has seen
+    @Query("""
+        SELECT p FROM GroupTimelineEntry e
+        JOIN e.post p
+        LEFT JOIN FETCH p.user
+        WHERE e.department = :department AND e.batch = :batch
+          AND (e.postCreatedAt < :createdAt
+               OR (e.postCreatedAt = :createdAt AND p.id < :id))
+        ORDER BY e.postCreatedAt DESC, p.id DESC
+        """)
+    List<Post> findGroupTimelineSliceAfter(@Param("department") String department,
+                                           @Param("batch") String batch,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        INSERT INTO GroupTimelineEntry (department, batch, post, postCreatedAt)
+        SELECT :department, :batch, p, :postCreatedAt FROM Post p WHERE p.id = :postId
+        """)
+    int insertEntry(@Param("postId") Long postId,
+                    @Param("postCreatedAt") LocalDateTime postCreatedAt,
+                    @Param("department") String department,
+                    @Param("batch") String batch);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM GroupTimelineEntry e WHERE e.post.id = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+}
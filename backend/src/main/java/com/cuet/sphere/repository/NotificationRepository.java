@@ -1,11 +1,13 @@
 package com.cuet.sphere.repository;
 
 import com.cuet.sphere.model.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -20,5 +22,44 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.isRead = false ORDER BY n.createdAt DESC")
     List<Notification> findUnreadByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId);
     
+    // Keyset (cursor) listing - first slice, newest first, no COUNT query
+    @Query("""
+        SELECT n FROM Notification n
+        WHERE n.user.id = :userId
+        ORDER BY n.createdAt DESC, n.id DESC
+        """)
+    List<Notification> findSlice(@Param("userId") Long userId, Pageable pageable);
+    
+    // Keyset (cursor) listing - seek past the last (createdAt, id) the client has seen
+    @Query("""
+        SELECT n FROM Notification n
+        WHERE n.user.id = :userId
+          AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id))
+        ORDER BY n.createdAt DESC, n.id DESC
+        """)
+    List<Notification> findSliceAfter(@Param("userId") Long userId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+    
+    // Unread variants, kept as separate queries so the is_read equality stays in the index prefix
+    @Query("""
+        SELECT n FROM Notification n
+        WHERE n.user.id = :userId AND n.isRead = false
+        ORDER BY n.createdAt DESC, n.id DESC
+        """)
+    List<Notification> findUnreadSlice(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query("""
+        SELECT n FROM Notification n
+        WHERE n.user.id = :userId AND n.isRead = false
+          AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id))
+        ORDER BY n.createdAt DESC, n.id DESC
+        """)
+    List<Notification> findUnreadSliceAfter(@Param("userId") Long userId,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+    
     void deleteByUserId(Long userId);
 }
\ No newline at end of file
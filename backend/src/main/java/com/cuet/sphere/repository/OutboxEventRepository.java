@@ -0,0 +1,23 @@
+package com.cuet.sphere.repository;
+
+import com.cuet.sphere.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Events whose next attempt is due, oldest first
+    @Query("""
+        SELECT e FROM OutboxEvent e
+        WHERE e.nextAttemptAt <= :now
+        ORDER BY e.nextAttemptAt ASC, e.id ASC
+        """)
+    List<OutboxEvent> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -0,0 +1,23 @@
+package com.cuet.sphere.repository;
+
+import com.cuet.sphere.model.PostDeletion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PostDeletionRepository extends JpaRepository<PostDeletion, Long> {
+
+    // Deletions whose next attempt is due, oldest first
+    @Query("""
+        SELECT d FROM PostDeletion d
+        WHERE d.nextAttemptAt <= :now
+        ORDER BY d.nextAttemptAt ASC, d.postId ASC
+        """)
+    List<PostDeletion> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+}
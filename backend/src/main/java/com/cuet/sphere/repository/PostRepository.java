@@ -4,9 +4,14 @@ import com.cuet.sphere.model.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,25 +34,178 @@ public interface PostRepository extends JpaRepository<Post, Long> {
         countQuery = "SELECT COUNT(p) FROM Post p")
     Page<Post> findAllWithUserAndCommentsPaginated(Pageable pageable);
     
-    // Count query for pagination
-    @Query("SELECT COUNT(p) FROM Post p")
-    long countAllPosts();
-    
-    // Simple ordering by creation date (newest first)
+    // Feed page with authors fetched in the same statement.
+    // FETCH on a to-one association is safe with pagination (no row multiplication).
+    @Query(value = """
+        SELECT p FROM Post p
+        LEFT JOIN FETCH p.user
+        ORDER BY p.createdAt DESC
+        """,
+        countQuery = "SELECT COUNT(p) FROM Post p")
+    Page<Post> findFeedPageWithUser(Pageable pageable);
+
+    // Tags for a whole page of posts in one statement, as (postId, tag) rows
+    @Query("SELECT p.id, t FROM Post p JOIN p.tags t WHERE p.id IN :postIds")
+    List<Object[]> findTagsByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // Keyset (cursor) feed - first slice, no COUNT query
     @Query("""
-        SELECT DISTINCT p FROM Post p 
-        LEFT JOIN FETCH p.user 
-        LEFT JOIN FETCH p.comments c 
-        LEFT JOIN FETCH c.user 
-        LEFT JOIN FETCH c.replies r 
-        LEFT JOIN FETCH r.user 
+        SELECT p FROM Post p
+        LEFT JOIN FETCH p.user
+        ORDER BY p.createdAt DESC, p.id DESC
+        """)
+    List<Post> findFeedFirstSlice(Pageable pageable);
+
+    // Keyset (cursor) feed - seek past the last (createdAt, id) the client has seen
+    @Query("""
+        SELECT p FROM Post p
+        LEFT JOIN FETCH p.user
+        WHERE p.createdAt < :createdAt
+           OR (p.createdAt = :createdAt AND p.id < :id)
+        ORDER BY p.createdAt DESC, p.id DESC
+        """)
+    List<Post> findFeedSliceAfter(@Param("createdAt") LocalDateTime createdAt,
+                                  @Param("id") Long id,
+                                  Pageable pageable);
+
+    // Atomic counter adjustment - never read-modify-write the entity
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE Post p
+        SET p.upvoteCount = p.upvoteCount + :upvoteDelta,
+            p.downvoteCount = p.downvoteCount + :downvoteDelta
+        WHERE p.id = :postId
+        """)
+    int adjustVoteCounts(@Param("postId") Long postId,
+                         @Param("upvoteDelta") int upvoteDelta,
+                         @Param("downvoteDelta") int downvoteDelta);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta WHERE p.id = :postId")
+    int adjustCommentCount(@Param("postId") Long postId, @Param("delta") int delta);
+
+    // Recompute vote counters from the votes table for a window of post ids
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE Post p
+        SET p.upvoteCount = (SELECT CAST(COUNT(v) AS Integer) FROM Vote v WHERE v.post.id = p.id AND v.upvote = true),
+            p.downvoteCount = (SELECT CAST(COUNT(v) AS Integer) FROM Vote v WHERE v.post.id = p.id AND v.upvote = false)
+        WHERE p.id BETWEEN :fromId AND :toId
+        """)
+    int reconcileVoteCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // Same recount for the posts a vote batch touched
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE Post p
+        SET p.upvoteCount = (SELECT CAST(COUNT(v) AS Integer) FROM Vote v WHERE v.post.id = p.id AND v.upvote = true),
+            p.downvoteCount = (SELECT CAST(COUNT(v) AS Integer) FROM Vote v WHERE v.post.id = p.id AND v.upvote = false)
+        WHERE p.id IN :postIds
+        """)
+    int recountVoteCounts(@Param("postIds") Collection<Long> postIds);
+
+    // Stored vote counters as (id, upvoteCount, downvoteCount) rows
+    @Query("SELECT p.id, p.upvoteCount, p.downvoteCount FROM Post p WHERE p.id IN :postIds")
+    List<Object[]> findVoteCounts(@Param("postIds") Collection<Long> postIds);
+
+    // Hot feed page, highest score first; id breaks ties so paging is stable
+    @Query(value = """
+        SELECT p FROM Post p
+        LEFT JOIN FETCH p.user
+        ORDER BY p.hotScore DESC, p.id DESC
+        """,
+        countQuery = "SELECT COUNT(p) FROM Post p")
+    Page<Post> findHotFeedPage(Pageable pageable);
+
+    // Posts for a set of ids (e.g. search hits) with authors fetched
+    @Query("SELECT p FROM Post p LEFT JOIN FETCH p.user WHERE p.id IN :ids")
+    List<Post> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Searchable fields as (id, title, content) rows in id order, for bulk index rebuilds
+    @Query("SELECT p.id, p.title, p.content FROM Post p WHERE p.id > :afterId ORDER BY p.id")
+    List<Object[]> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Version columns of a feed page as (id, updatedAt, upvoteCount, downvoteCount, commentCount, authorUpdatedAt)
+    // rows, in the same order as findFeedPageWithUser; used for ETags without building DTOs
+    @Query("""
+        SELECT p.id, p.updatedAt, p.upvoteCount, p.downvoteCount, p.commentCount, u.updatedAt
+        FROM Post p
+        LEFT JOIN p.user u
         ORDER BY p.createdAt DESC
         """)
-    List<Post> findAllWithUserAndCommentsOrderedByDate();
-    
-    // Alternative: Get posts ordered by creation date without complex joins
-    @Query("SELECT p FROM Post p ORDER BY p.createdAt DESC")
-    List<Post> findAllOrderedByDateSimple();
+    List<Object[]> findFeedVersionRows(Pageable pageable);
+
+    // Everything the post detail JSON depends on, as one row:
+    // (updatedAt, upvoteCount, downvoteCount, commentCount, authorUpdatedAt,
+    //  last comment edit, last comment author edit, reply total, last reply edit, last reply author edit)
+    @Query("""
+        SELECT p.updatedAt, p.upvoteCount, p.downvoteCount, p.commentCount, u.updatedAt,
+               (SELECT MAX(c.updatedAt) FROM Comment c WHERE c.post = p),
+               (SELECT MAX(cu.updatedAt) FROM Comment c JOIN c.user cu WHERE c.post = p),
+               (SELECT COALESCE(SUM(c.replyCount), 0) FROM Comment c WHERE c.post = p),
+               (SELECT MAX(r.updatedAt) FROM Reply r WHERE r.comment.post = p),
+               (SELECT MAX(ru.updatedAt) FROM Reply r JOIN r.user ru WHERE r.comment.post = p)
+        FROM Post p
+        LEFT JOIN p.user u
+        WHERE p.id = :postId
+        """)
+    List<Object[]> findPostVersionRow(@Param("postId") Long postId);
+
+    // Inputs for HotScore as (id, upvoteCount, downvoteCount, commentCount, createdAt, hotScore) rows
+    @Query("""
+        SELECT p.id, p.upvoteCount, p.downvoteCount, p.commentCount, p.createdAt, p.hotScore
+        FROM Post p WHERE p.id BETWEEN :fromId AND :toId
+        """)
+    List<Object[]> findHotScoreInputs(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Post p SET p.hotScore = :score WHERE p.id = :postId")
+    int updateHotScore(@Param("postId") Long postId, @Param("score") double score);
+
+    // Only attaches the derivatives while the post still shows the image they were made from
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE Post p
+        SET p.thumbnailUrl = :thumbnailUrl,
+            p.feedImageUrl = :feedImageUrl,
+            p.derivativesSourceUrl = :sourceUrl
+        WHERE p.id = :postId AND p.mediaUrl = :sourceUrl
+        """)
+    int setImageDerivatives(@Param("postId") Long postId,
+                            @Param("sourceUrl") String sourceUrl,
+                            @Param("thumbnailUrl") String thumbnailUrl,
+                            @Param("feedImageUrl") String feedImageUrl);
+
+    // Hides the post from every query at once (see @SQLRestriction on Post)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Post p SET p.deletedAt = :deletedAt WHERE p.id = :postId")
+    int tombstone(@Param("postId") Long postId, @Param("deletedAt") LocalDateTime deletedAt);
+
+    // post_tags is an element collection, so it has no entity to run a JPQL delete against
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM post_tags WHERE post_id = :postId", nativeQuery = true)
+    int purgeTags(@Param("postId") Long postId);
+
+    // Native so the @SQLRestriction on Post cannot hide the tombstoned row from its own delete
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM post WHERE id = :postId AND deleted_at IS NOT NULL", nativeQuery = true)
+    int purgeTombstoned(@Param("postId") Long postId);
+
+    @Query("SELECT COALESCE(MAX(p.id), 0) FROM Post p")
+    long findMaxId();
+
+    // Count query for pagination
+    @Query("SELECT COUNT(p) FROM Post p")
+    long countAllPosts();
     
     @Query("""
         SELECT p FROM Post p 
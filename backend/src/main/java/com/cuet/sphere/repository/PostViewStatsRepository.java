@@ -0,0 +1,52 @@
+package com.cuet.sphere.repository;
+
+import com.cuet.sphere.model.PostViewStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PostViewStatsRepository extends JpaRepository<PostViewStats, Long> {
+
+    // Stored sketches for a batch of posts as (postId, viewerSketch) rows; posts without stats are absent
+    @Query("SELECT s.postId, s.viewerSketch FROM PostViewStats s WHERE s.postId IN :postIds")
+    List<Object[]> findSketches(@Param("postIds") Collection<Long> postIds);
+
+    // The view count is incremented in SQL so concurrent flushes cannot lose views
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE PostViewStats s
+        SET s.viewCount = s.viewCount + :views,
+            s.uniqueViewers = :uniqueViewers,
+            s.viewerSketch = :sketch
+        WHERE s.postId = :postId
+        """)
+    int addViews(@Param("postId") Long postId,
+                 @Param("views") long views,
+                 @Param("uniqueViewers") long uniqueViewers,
+                 @Param("sketch") byte[] sketch);
+
+    // Bulk insert; posts deleted in the meantime simply insert nothing
+    @Modifying
+    @Transactional
+    @Query("""
+        INSERT INTO PostViewStats (postId, viewCount, uniqueViewers, viewerSketch)
+        SELECT p.id, :views, :uniqueViewers, :sketch FROM Post p WHERE p.id = :postId
+        """)
+    int insertStats(@Param("postId") Long postId,
+                    @Param("views") long views,
+                    @Param("uniqueViewers") long uniqueViewers,
+                    @Param("sketch") byte[] sketch);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PostViewStats s WHERE s.postId = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+}
@@ -1,8 +1,69 @@
 package com.cuet.sphere.repository;
 
 import com.cuet.sphere.model.Reply;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface ReplyRepository extends JpaRepository<Reply, Long> {
-}
 
+    // Keyset reply paging, oldest first, authors fetched in the same statement
+    @Query("""
+        SELECT r FROM Reply r
+        LEFT JOIN FETCH r.user
+        WHERE r.comment.id = :commentId
+        ORDER BY r.createdAt ASC, r.id ASC
+        """)
+    List<Reply> findRepliesFirstSlice(@Param("commentId") Long commentId, Pageable pageable);
+
+    @Query("""
+        SELECT r FROM Reply r
+        LEFT JOIN FETCH r.user
+        WHERE r.comment.id = :commentId
+          AND (r.createdAt > :createdAt
+               OR (r.createdAt = :createdAt AND r.id > :id))
+        ORDER BY r.createdAt ASC, r.id ASC
+        """)
+    List<Reply> findRepliesSliceAfter(@Param("commentId") Long commentId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+
+    // All replies of several comments in one statement, in creation order
+    @Query("SELECT r FROM Reply r WHERE r.comment.id IN :commentIds ORDER BY r.id ASC")
+    List<Reply> findByCommentIds(@Param("commentIds") Collection<Long> commentIds);
+
+    // The first :limit replies of each comment in one statement (reply previews for a thread page)
+    @Query("""
+        SELECT r FROM Reply r
+        LEFT JOIN FETCH r.user
+        WHERE r.id IN (
+            SELECT ranked.id FROM (
+                SELECT r2.id AS id,
+                       ROW_NUMBER() OVER (PARTITION BY r2.comment.id ORDER BY r2.createdAt, r2.id) AS position
+                FROM Reply r2
+                WHERE r2.comment.id IN :commentIds
+            ) ranked
+            WHERE ranked.position <= :limit
+        )
+        ORDER BY r.createdAt ASC, r.id ASC
+        """)
+    List<Reply> findFirstRepliesForComments(@Param("commentIds") Collection<Long> commentIds,
+                                            @Param("limit") long limit);
+
+    // Set-based purge of every reply under a deleted post's comments
+    @Modifying
+    @Transactional
+    @Query("""
+        DELETE FROM Reply r
+        WHERE r.comment.id IN (SELECT c.id FROM Comment c WHERE c.post.id = :postId)
+        """)
+    int deleteByPostId(@Param("postId") Long postId);
+}
@@ -6,9 +6,11 @@ import com.cuet.sphere.model.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -83,6 +85,14 @@ public interface SavedPostRepository extends JpaRepository<SavedPost, Long> {
      */
     void deleteByPost(Post post);
     
+    /**
+     * Set-based variant of deleteByPost that does not load the rows first
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SavedPost sp WHERE sp.post.id = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+    
     /**
      * Delete saved post by user ID and post ID
      */
@@ -0,0 +1,75 @@
+package com.cuet.sphere.repository;
+
+import com.cuet.sphere.model.Post;
+import com.cuet.sphere.model.TagFeedEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TagFeedEntryRepository extends JpaRepository<TagFeedEntry, Long> {
+
+    @Query("SELECT e.tag FROM TagFeedEntry e WHERE e.post.id = :postId")
+    List<String> findTagsByPostId(@Param("postId") Long postId);
+
+    // Tag feed page, newest first, read along (tag, post_created_at, post_id)
+    @Query(value = """
+        SELECT p FROM TagFeedEntry e
+        JOIN e.post p
+        LEFT JOIN FETCH p.user
+        WHERE e.tag = :tag
+        ORDER BY e.postCreatedAt DESC, p.id DESC
+        """,
+        countQuery = "SELECT COUNT(e) FROM TagFeedEntry e WHERE e.tag = :tag")
+    Page<Post> findTagFeedPage(@Param("tag") String tag, Pageable pageable);
+
+    // Keyset tag feed - first slice, no COUNT query
+    @Query("""
+        SELECT p FROM TagFeedEntry e
+        JOIN e.post p
+        LEFT JOIN FETCH p.user
+        WHERE e.tag = :tag
+        ORDER BY e.postCreatedAt DESC, p.id DESC
+        """)
+    List<Post> findTagFeedFirstSlice(@Param("tag") String tag, Pageable pageable);
+
+    // Keyset tag feed - seek past the last (createdAt, id) the client has seen
+    @Query("""
+        SELECT p FROM TagFeedEntry e
+        JOIN e.post p
+        LEFT JOIN FETCH p.user
+        WHERE e.tag = :tag
+          AND (e.postCreatedAt < :createdAt
+               OR (e.postCreatedAt = :createdAt AND p.id < :id))
+        ORDER BY e.postCreatedAt DESC, p.id DESC
+        """)
+    List<Post> findTagFeedSliceAfter(@Param("tag") String tag,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id,
+                                     Pageable pageable);
+
+    // Bulk insert so tag_feed rows never become managed entities that a later bulk delete would leave stale
+    @Modifying
+    @Transactional
+    @Query("""
+        INSERT INTO TagFeedEntry (tag, post, postCreatedAt)
+        SELECT :tag, p, :postCreatedAt FROM Post p WHERE p.id = :postId
+        """)
+    int insertEntry(@Param("tag") String tag,
+                    @Param("postId") Long postId,
+                    @Param("postCreatedAt") LocalDateTime postCreatedAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TagFeedEntry e WHERE e.post.id = :postId AND e.tag IN :tags")
+    int deleteByPostIdAndTagIn(@Param("postId") Long postId, @Param("tags") Collection<String> tags);
+}
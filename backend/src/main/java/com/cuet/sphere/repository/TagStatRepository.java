@@ -0,0 +1,37 @@
+package com.cuet.sphere.repository;
+
+import com.cuet.sphere.dto.TagCountDTO;
+import com.cuet.sphere.model.TagStat;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface TagStatRepository extends JpaRepository<TagStat, String> {
+
+    // Atomic counter adjustment; returns 0 when the tag has no row yet
+    @Modifying
+    @Transactional
+    @Query("UPDATE TagStat s SET s.postCount = s.postCount + :delta WHERE s.tag = :tag")
+    int adjustPostCount(@Param("tag") String tag, @Param("delta") int delta);
+
+    // First post for a tag; a bulk insert keeps tag_stats rows out of the persistence context
+    @Modifying
+    @Transactional
+    @Query("INSERT INTO TagStat (tag, postCount) VALUES (:tag, :postCount)")
+    int insertTagStat(@Param("tag") String tag, @Param("postCount") int postCount);
+
+    @Query("""
+        SELECT new com.cuet.sphere.dto.TagCountDTO(s.tag, s.postCount)
+        FROM TagStat s
+        WHERE s.postCount > 0
+        ORDER BY s.postCount DESC, s.tag ASC
+        """)
+    List<TagCountDTO> findTopTags(Pageable pageable);
+}
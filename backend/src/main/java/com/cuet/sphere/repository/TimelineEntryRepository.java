@@ -0,0 +1,66 @@
+package com.cuet.sphere.repository;
+
+import com.cuet.sphere.model.Post;
+import com.cuet.sphere.model.TimelineEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TimelineEntryRepository extends JpaRepository<TimelineEntry, Long> {
+
+    // User timeline - first slice, newest first along (user_id, post_created_at, post_id)
+    @Query("""
+        SELECT p FROM TimelineEntry e
+        JOIN e.post p
+        LEFT JOIN FETCH p.user
+        WHERE e.user.id = :userId
+        ORDER BY e.postCreatedAt DESC, p.id DESC
+        """)
+    List<Post> findTimelineFirstSlice(@Param("userId") Long userId, Pageable pageable);
+
+    // User timeline - seek past the last (createdAt, id) the client has seen
+    @Query("""
+        SELECT p FROM TimelineEntry e
+        JOIN e.post p
+        LEFT JOIN FETCH p.user
+        WHERE e.user.id = :userId
+          AND (e.postCreatedAt < :createdAt
+               OR (e.postCreatedAt = :createdAt AND p.id < :id))
+        ORDER BY e.postCreatedAt DESC, p.id DESC
+        """)
+    List<Post> findTimelineSliceAfter(@Param("userId") Long userId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+
+    // Fan a post out to every member of a (department, batch) group in one statement
+    @Modifying
+    @Transactional
+    @Query("""
+        INSERT INTO TimelineEntry (user, post, postCreatedAt)
+        SELECT u, p, :postCreatedAt FROM User u, Post p
+        WHERE p.id = :postId AND u.department = :department AND u.batch = :batch
+        """)
+    int fanOut(@Param("postId") Long postId,
+               @Param("postCreatedAt") LocalDateTime postCreatedAt,
+               @Param("department") String department,
+               @Param("batch") String batch);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TimelineEntry e WHERE e.post.id = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TimelineEntry e WHERE e.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
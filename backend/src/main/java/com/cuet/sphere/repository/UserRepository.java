@@ -1,9 +1,13 @@
 package com.cuet.sphere.repository;
 
+import com.cuet.sphere.dto.AuthorSummary;
 import com.cuet.sphere.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,5 +21,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findAllByOrderByFullNameAsc();
     List<User> findByBatchAndDepartmentOrderByFullNameAsc(String batch, String department);
     List<User> findByDepartmentAndBatch(String department, String batch);
+    long countByDepartmentAndBatch(String department, String batch);
     List<User> findByRole(User.Role role);
+
+    // Only the columns shown next to content, without loading User entities
+    @Query("""
+        SELECT new com.cuet.sphere.dto.AuthorSummary(u.id, u.fullName, u.email, u.batch, u.department,
+                                                     u.studentId, u.profilePicture)
+        FROM User u
+        WHERE u.id IN :ids
+        """)
+    List<AuthorSummary> findAuthorSummaries(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -2,8 +2,18 @@ package com.cuet.sphere.repository;
 
 import com.cuet.sphere.model.Vote;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface VoteRepository extends JpaRepository<Vote, Long> {
     Vote findByPost_IdAndUserId(Long postId, Long userId);
+
+    // Set-based purge for a deleted post
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Vote v WHERE v.post.id = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
 }
 
@@ -0,0 +1,164 @@
+package com.cuet.sphere.service;
+
+import com.cuet.sphere.dto.AuthorSummary;
+import com.cuet.sphere.model.User;
+import com.cuet.sphere.repository.UserRepository;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of AuthorSummary by user id, shared by every DTO converter that shows
+ * who wrote something.
+ *
+ * Authors whose User entity is already loaded (JOIN FETCH) are cached from the entity
+ * without a query; anything else is loaded for a whole list at once with a projection
+ * query that reads only the displayed columns. Profile edits evict the user's entry
+ * (and the hot feed posts that show it), and entries also expire after a TTL so an
+ * edit racing a load cannot stick.
+ */
+@Component
+public class AuthorCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HotFeedCache hotFeedCache;
+
+    private final int capacity;
+    private final long ttlMs;
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AuthorCache(@Value("${authors.cache.capacity:10000}") int capacity,
+                       @Value("${authors.cache.ttl.ms:600000}") long ttlMs) {
+        this.capacity = capacity;
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+     * Summary for an associated user. Never null: a missing author yields AuthorSummary.UNKNOWN.
+     */
+    public AuthorSummary get(User user) {
+        if (user == null || user.getId() == null) {
+            return AuthorSummary.UNKNOWN;
+        }
+        AuthorSummary cached = lookup(user.getId());
+        if (cached != null) {
+            return cached;
+        }
+        // The id of a lazy proxy is available without initializing it
+        if (Hibernate.isInitialized(user)) {
+            misses.increment();
+            AuthorSummary summary = AuthorSummary.of(user);
+            put(summary);
+            return summary;
+        }
+        return getAll(Set.of(user.getId())).getOrDefault(user.getId(), AuthorSummary.UNKNOWN);
+    }
+
+    /**
+     * Summaries for many users, with one query for all ids not cached yet.
+     * Ids that do not exist are absent from the result.
+     */
+    public Map<Long, AuthorSummary> getAll(Collection<Long> userIds) {
+        Map<Long, AuthorSummary> result = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        for (Long userId : userIds) {
+            if (userId == null || result.containsKey(userId)) {
+                continue;
+            }
+            AuthorSummary cached = lookup(userId);
+            if (cached != null) {
+                result.put(userId, cached);
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            misses.add(missing.size());
+            for (AuthorSummary summary : userRepository.findAuthorSummaries(missing)) {
+                put(summary);
+                result.put(summary.getId(), summary);
+            }
+        }
+        return result;
+    }
+
+    public void evict(Long userId) {
+        if (userId != null) {
+            entries.remove(userId);
+            hotFeedCache.onAuthorChanged(userId);
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("capacity", capacity);
+        stats.put("size", entries.size());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        return stats;
+    }
+
+    private AuthorSummary lookup(Long userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(userId, entry);
+            return null;
+        }
+        hits.increment();
+        return entry.summary;
+    }
+
+    private void put(AuthorSummary summary) {
+        if (capacity <= 0) {
+            return;
+        }
+        if (entries.size() >= capacity && !entries.containsKey(summary.getId())) {
+            // Drop an arbitrary entry; active authors are reloaded on their next appearance
+            Iterator<Long> keys = entries.keySet().iterator();
+            if (keys.hasNext()) {
+                entries.remove(keys.next());
+            }
+        }
+        entries.put(summary.getId(), new Entry(summary, System.currentTimeMillis() + ttlMs));
+    }
+
+    private static final class Entry {
+        private final AuthorSummary summary;
+        private final long expiresAt;
+
+        private Entry(AuthorSummary summary, long expiresAt) {
+            this.summary = summary;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
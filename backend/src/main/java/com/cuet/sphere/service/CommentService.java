@@ -1,71 +1,206 @@
 package com.cuet.sphere.service;
 
+import com.cuet.sphere.dto.AuthorSummary;
 import com.cuet.sphere.dto.CommentDTO;
+import com.cuet.sphere.dto.CursorPage;
 import com.cuet.sphere.dto.ReplyDTO;
 import com.cuet.sphere.model.Comment;
-import com.cuet.sphere.model.User;
+import com.cuet.sphere.model.Reply;
 import com.cuet.sphere.repository.CommentRepository;
+import com.cuet.sphere.repository.PostRepository;
+import com.cuet.sphere.repository.ReplyRepository;
+import com.cuet.sphere.util.AfterCommit;
+import com.cuet.sphere.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class CommentService {
+    private static final int MAX_COMMENT_PAGE_SIZE = 50;
+    
     @Autowired
     private CommentRepository commentRepository;
     
     @Autowired
-    private UserService userService;
+    private AuthorCache authorCache;
     
     @Autowired
     private ReplyService replyService;
+    
+    @Autowired
+    private PostRepository postRepository;
+    
+    @Autowired
+    private HotFeedCache hotFeedCache;
+
+    @Autowired
+    private PostJsonCache postJsonCache;
+
+    @Autowired
+    private PostRankingService postRankingService;
+    
+    @Autowired
+    private ReplyRepository replyRepository;
+    
+    // Replies embedded under each comment of a thread page; the rest come from the replies endpoint
+    @Value("${comments.preview.replies:3}")
+    private int previewReplies;
 
     public Optional<Comment> getComment(Long id) {
         return commentRepository.findById(id);
     }
 
+    // Also used for edits; only a newly inserted comment bumps the post's counter
+    @Transactional
     public Comment createComment(Comment comment) {
-        return commentRepository.save(comment);
+        boolean isNew = comment.getId() == null;
+        Comment saved = commentRepository.save(comment);
+        if (isNew && saved.getPost() != null) {
+            postRepository.adjustCommentCount(saved.getPost().getId(), 1);
+            postRankingService.refreshHotScore(saved.getPost().getId());
+            refreshCachedCounters(saved.getPost().getId(), 1);
+        }
+        return saved;
     }
 
+    @Transactional
     public void deleteComment(Long id) {
-        commentRepository.deleteById(id);
+        Optional<Comment> commentOpt = commentRepository.findById(id);
+        if (commentOpt.isEmpty()) {
+            return;
+        }
+        Comment comment = commentOpt.get();
+        commentRepository.delete(comment);
+        if (comment.getPost() != null) {
+            postRepository.adjustCommentCount(comment.getPost().getId(), -1);
+            postRankingService.refreshHotScore(comment.getPost().getId());
+            refreshCachedCounters(comment.getPost().getId(), -1);
+        }
+    }
+    
+    // Cached counters follow the database only once the transaction committed
+    private void refreshCachedCounters(Long postId, int commentDelta) {
+        AfterCommit.run(() -> {
+            hotFeedCache.onCountersChanged(postId, 0, 0, commentDelta);
+            postJsonCache.invalidate(postId);
+        });
+    }
+    
+    /**
+     * One page of a post's comments, oldest first, each with its reply count and at most
+     * the first few replies. The number of statements per page does not depend on the
+     * thread size: comments with authors, then all reply previews with authors in one go.
+     */
+    public CursorPage<CommentDTO> getCommentPage(Long postId, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_COMMENT_PAGE_SIZE));
+        // Fetch one extra row to know whether another page exists
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        
+        List<Comment> comments;
+        if (cursor == null || cursor.isBlank()) {
+            comments = commentRepository.findCommentsFirstSlice(postId, pageable);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            comments = commentRepository.findCommentsSliceAfter(postId, after.getCreatedAt(), after.getId(), pageable);
+        }
+        
+        boolean hasNext = comments.size() > limit;
+        if (hasNext) {
+            comments = comments.subList(0, limit);
+        }
+        
+        // Previews only for comments that have replies at all
+        List<Long> withReplies = comments.stream()
+                .filter(comment -> comment.getReplyCount() > 0)
+                .map(Comment::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ReplyDTO>> previews = new HashMap<>();
+        if (previewReplies > 0 && !withReplies.isEmpty()) {
+            for (Reply reply : replyRepository.findFirstRepliesForComments(withReplies, previewReplies)) {
+                previews.computeIfAbsent(reply.getComment().getId(), id -> new ArrayList<>())
+                        .add(replyService.convertToDTOWithFetchedAuthor(reply));
+            }
+        }
+        
+        List<CommentDTO> dtos = new ArrayList<>(comments.size());
+        for (Comment comment : comments) {
+            CommentDTO dto = buildDTO(comment, authorCache.get(comment.getUser()));
+            dto.setReplies(previews.getOrDefault(comment.getId(), new ArrayList<>()));
+            dtos.add(dto);
+        }
+        
+        String nextCursor = null;
+        if (hasNext) {
+            Comment last = comments.get(comments.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(dtos, nextCursor, hasNext);
     }
     
     public CommentDTO convertToDTO(Comment comment) {
+        return convertToDTOs(List.of(comment)).get(0);
+    }
+    
+    /**
+     * Whole comments with all their replies. Costs one reply query and at most one user
+     * query (for authors not in AuthorCache) for the entire list, however many comments,
+     * replies and authors it has.
+     */
+    public List<CommentDTO> convertToDTOs(List<Comment> comments) {
+        if (comments.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        List<Long> commentIds = comments.stream().map(Comment::getId).collect(Collectors.toList());
+        Map<Long, List<Reply>> repliesByComment = new HashMap<>();
+        for (Reply reply : replyRepository.findByCommentIds(commentIds)) {
+            repliesByComment.computeIfAbsent(reply.getComment().getId(), id -> new ArrayList<>()).add(reply);
+        }
+        
+        // Every author in the thread, comments and replies alike
+        Set<Long> authorIds = new HashSet<>();
+        comments.forEach(comment -> authorIds.add(comment.getUserId()));
+        repliesByComment.values().forEach(replies -> replies.forEach(reply -> authorIds.add(reply.getUserId())));
+        Map<Long, AuthorSummary> authors = authorCache.getAll(authorIds);
+        
+        List<CommentDTO> dtos = new ArrayList<>(comments.size());
+        for (Comment comment : comments) {
+            CommentDTO dto = buildDTO(comment, authors.getOrDefault(comment.getUserId(), AuthorSummary.UNKNOWN));
+            dto.setReplies(replyService.convertToDTOs(
+                repliesByComment.getOrDefault(comment.getId(), new ArrayList<>()), authors));
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+    
+    // Comment fields and author details, without replies
+    private CommentDTO buildDTO(Comment comment, AuthorSummary author) {
         CommentDTO dto = new CommentDTO();
         dto.setId(comment.getId());
         dto.setText(comment.getText());
         dto.setCreatedAt(comment.getCreatedAt());
         dto.setUpdatedAt(comment.getUpdatedAt());
         dto.setUserId(comment.getUserId());
+        dto.setReplyCount(comment.getReplyCount());
         
-        // Get user information
-        Optional<User> userOpt = userService.getUserById(comment.getUserId());
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            dto.setAuthor(user.getFullName());
-            dto.setAuthorEmail(user.getEmail());
-            dto.setStudentId(user.getFullStudentId());
-            dto.setProfilePicture(user.getProfilePicture());
-        } else {
-            // Fallback values if user not found
-            dto.setAuthor("Unknown User");
-            dto.setAuthorEmail("unknown@example.com");
-            dto.setStudentId("0000000");
-            dto.setProfilePicture(null);
-        }
-        
-        // Convert replies to DTOs
-        if (comment.getReplies() != null) {
-            List<ReplyDTO> replyDTOs = comment.getReplies().stream()
-                .map(reply -> replyService.convertToDTO(reply))
-                .collect(Collectors.toList());
-            dto.setReplies(replyDTOs);
-        }
+        // Author details; AuthorSummary.UNKNOWN when the user was not found
+        dto.setAuthor(author.getFullName());
+        dto.setAuthorEmail(author.getEmail());
+        dto.setStudentId(author.getStudentId());
+        dto.setProfilePicture(author.getProfilePicture());
         
         return dto;
     }
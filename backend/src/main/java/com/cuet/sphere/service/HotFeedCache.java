@@ -0,0 +1,267 @@
+package com.cuet.sphere.service;
+
+import com.cuet.sphere.dto.PostDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process cache of the newest N feed posts (newest first).
+ *
+ * The cache is loaded once from the database and then kept up to date in place by
+ * post create/update/delete and counter changes, instead of being dropped wholesale.
+ * Readers get copies of the cached DTOs so per-request fields (saved flag) never leak.
+ * Memory is bounded by the configured capacity; a capacity of 0 disables the cache.
+ */
+@Component
+public class HotFeedCache {
+
+    private final int capacity;
+
+    // Ordered newest first by (createdAt DESC, id DESC), same order as the feed queries
+    private final ConcurrentSkipListMap<FeedKey, PostDTO> entries = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, FeedKey> keysById = new ConcurrentHashMap<>();
+
+    private volatile boolean warm = false;
+    // True when the cache holds every post in the table (small tables)
+    private volatile boolean complete = false;
+    private final AtomicLong totalPosts = new AtomicLong();
+
+    // Bumped on every mutation so a slow load cannot overwrite newer in-place updates
+    private final AtomicLong version = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public HotFeedCache(@Value("${feed.cache.capacity:30}") int capacity) {
+        this.capacity = Math.max(0, capacity);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getTotalPosts() {
+        return totalPosts.get();
+    }
+
+    public long currentVersion() {
+        return version.get();
+    }
+
+    /**
+     * Copies of the cached posts in [offset, offset + limit), or empty on a miss.
+     * When the cache holds the whole table a short (or empty) list is still a hit.
+     */
+    public Optional<List<PostDTO>> getRange(int offset, int limit) {
+        if (!warm || (!complete && offset + limit > entries.size())) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        List<PostDTO> result = new ArrayList<>(limit);
+        int index = 0;
+        for (PostDTO dto : entries.values()) {
+            if (index >= offset + limit) {
+                break;
+            }
+            if (index >= offset) {
+                result.add(new PostDTO(dto));
+            }
+            index++;
+        }
+
+        // A concurrent delete can shrink the cache between the check and the copy
+        if (!complete && result.size() < limit) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        return Optional.of(result);
+    }
+
+    /**
+     * Replace the cache contents with the newest posts read from the database.
+     * Skipped if anything changed since expectedVersion was read, since the loaded
+     * list may then be missing that change; the next miss simply loads again.
+     */
+    public synchronized void load(List<PostDTO> newestPosts, long total, long expectedVersion) {
+        if (capacity == 0 || version.get() != expectedVersion) {
+            return;
+        }
+
+        entries.clear();
+        keysById.clear();
+        for (PostDTO dto : newestPosts) {
+            if (entries.size() >= capacity) {
+                break;
+            }
+            put(dto);
+        }
+        totalPosts.set(total);
+        complete = total <= entries.size();
+        warm = true;
+    }
+
+    public synchronized void onPostCreated(PostDTO dto) {
+        version.incrementAndGet();
+        if (!warm) {
+            return;
+        }
+        totalPosts.incrementAndGet();
+
+        FeedKey key = FeedKey.of(dto);
+        boolean full = entries.size() >= capacity;
+        if (full && !complete && entries.lastKey().compareTo(key) < 0) {
+            // Older than everything we hold - it belongs beyond the cached range
+            return;
+        }
+
+        put(dto);
+        while (entries.size() > capacity) {
+            Map.Entry<FeedKey, PostDTO> oldest = entries.pollLastEntry();
+            keysById.remove(oldest.getValue().getId());
+            complete = false;
+        }
+    }
+
+    public synchronized void onPostUpdated(PostDTO dto) {
+        version.incrementAndGet();
+        FeedKey key = keysById.get(dto.getId());
+        if (key == null) {
+            return;
+        }
+
+        // Counters are maintained by onCountersChanged; keep them over the edited copy's values
+        PostDTO current = entries.get(key);
+        PostDTO updated = new PostDTO(dto);
+        if (current != null) {
+            updated.setUpvotes(current.getUpvotes());
+            updated.setDownvotes(current.getDownvotes());
+            updated.setCommentCount(current.getCommentCount());
+        }
+        updated.setSaved(false);
+
+        entries.remove(key);
+        keysById.remove(dto.getId());
+        put(updated);
+    }
+
+    public synchronized void onPostDeleted(Long postId) {
+        version.incrementAndGet();
+        if (!warm) {
+            return;
+        }
+        totalPosts.updateAndGet(total -> Math.max(0, total - 1));
+
+        FeedKey key = keysById.remove(postId);
+        if (key != null) {
+            entries.remove(key);
+        }
+    }
+
+    public synchronized void onCountersChanged(Long postId, int upvoteDelta, int downvoteDelta, int commentDelta) {
+        version.incrementAndGet();
+        FeedKey key = keysById.get(postId);
+        if (key == null) {
+            return;
+        }
+
+        PostDTO current = entries.get(key);
+        if (current != null) {
+            PostDTO updated = new PostDTO(current);
+            updated.setUpvotes(Math.max(0, current.getUpvotes() + upvoteDelta));
+            updated.setDownvotes(Math.max(0, current.getDownvotes() + downvoteDelta));
+            updated.setCommentCount(Math.max(0, current.getCommentCount() + commentDelta));
+            entries.put(key, updated);
+        }
+    }
+
+    // Cached posts carry the author's name and picture; drop them all rather than patch copies
+    public synchronized void onAuthorChanged(Long userId) {
+        version.incrementAndGet();
+        if (entries.values().stream().anyMatch(dto -> userId.equals(dto.getUserId()))) {
+            invalidate();
+        }
+    }
+
+    public synchronized void invalidate() {
+        version.incrementAndGet();
+        warm = false;
+        complete = false;
+        entries.clear();
+        keysById.clear();
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("capacity", capacity);
+        stats.put("size", entries.size());
+        stats.put("warm", warm);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        return stats;
+    }
+
+    private void put(PostDTO dto) {
+        PostDTO stored = new PostDTO(dto);
+        stored.setSaved(false);
+        FeedKey key = FeedKey.of(stored);
+        entries.put(key, stored);
+        keysById.put(stored.getId(), key);
+    }
+
+    private static final class FeedKey implements Comparable<FeedKey> {
+        private static final Comparator<FeedKey> NEWEST_FIRST = Comparator
+                .comparing((FeedKey k) -> k.createdAt, Comparator.reverseOrder())
+                .thenComparing(k -> k.id, Comparator.reverseOrder());
+
+        private final LocalDateTime createdAt;
+        private final Long id;
+
+        private FeedKey(LocalDateTime createdAt, Long id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+
+        static FeedKey of(PostDTO dto) {
+            LocalDateTime createdAt = dto.getCreatedAt() != null ? dto.getCreatedAt() : LocalDateTime.MIN;
+            return new FeedKey(createdAt, dto.getId());
+        }
+
+        @Override
+        public int compareTo(FeedKey other) {
+            return NEWEST_FIRST.compare(this, other);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof FeedKey)) return false;
+            FeedKey other = (FeedKey) o;
+            return createdAt.equals(other.createdAt) && id.equals(other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * createdAt.hashCode() + id.hashCode();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.cuet.sphere.service;
+
+import com.cuet.sphere.model.Post;
+import com.cuet.sphere.repository.PostRepository;
+import com.cuet.sphere.util.ImageResizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Thumbnail and feed-size copies of post images, generated off the request path.
+ *
+ * Saving a post with an image queues a POST_IMAGE_DERIVATIVES outbox event; the
+ * dispatcher calls generate(), and a failure (e.g. storage unavailable) is retried with
+ * the outbox backoff. Copies are width-bounded JPEGs stored next to the original under
+ * names derived from its URL, so they can be found again for deletion. When a copy
+ * would be no smaller than an original that already fits the width, the original's URL
+ * is used instead. GIFs are left alone to keep their animation.
+ */
+@Service
+public class ImageDerivativeService {
+    private static final Logger logger = LoggerFactory.getLogger(ImageDerivativeService.class);
+
+    public static final String THUMBNAIL_SUFFIX = "_thumb.jpg";
+    public static final String FEED_SUFFIX = "_feed.jpg";
+
+    private static final Set<String> DERIVABLE_EXTENSIONS = Set.of("jpg", "jpeg", "png", "bmp");
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private S3Service s3Service;
+
+    private final int thumbnailWidth;
+    private final int feedWidth;
+    private final float jpegQuality;
+    private final long maxSourcePixels;
+
+    public ImageDerivativeService(@Value("${media.derivatives.thumbnail.width:320}") int thumbnailWidth,
+                                  @Value("${media.derivatives.feed.width:1080}") int feedWidth,
+                                  @Value("${media.derivatives.jpeg.quality:0.8}") float jpegQuality,
+                                  @Value("${media.derivatives.max-source-pixels:50000000}") long maxSourcePixels) {
+        this.thumbnailWidth = Math.max(1, thumbnailWidth);
+        this.feedWidth = Math.max(this.thumbnailWidth, feedWidth);
+        this.jpegQuality = Math.min(1f, Math.max(0.1f, jpegQuality));
+        this.maxSourcePixels = Math.max(1, maxSourcePixels);
+    }
+
+    public static boolean isDerivable(String mediaUrl) {
+        if (mediaUrl == null) {
+            return false;
+        }
+        String path = mediaUrl;
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        int dot = path.lastIndexOf('.');
+        return dot > path.lastIndexOf('/') && DERIVABLE_EXTENSIONS.contains(path.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    // e.g. .../posts/abc.png -> .../posts/abc_thumb.jpg
+    public static String derivedUrl(String mediaUrl, String suffix) {
+        int dot = mediaUrl.lastIndexOf('.');
+        return (dot > mediaUrl.lastIndexOf('/') ? mediaUrl.substring(0, dot) : mediaUrl) + suffix;
+    }
+
+    /**
+     * Create and attach the copies for the post's current image. Does nothing when the
+     * post is gone, has no derivable image, already has copies, or the image is not in
+     * this application's storage.
+     */
+    public void generate(Long postId) throws IOException {
+        Optional<Post> postOpt = postRepository.findById(postId);
+        if (postOpt.isEmpty()) {
+            return;
+        }
+        Post post = postOpt.get();
+        String sourceUrl = post.getMediaUrl();
+        if (!isDerivable(sourceUrl) || post.hasImageDerivatives()) {
+            return;
+        }
+        String previousSource = post.getDerivativesSourceUrl();
+
+        byte[] original = s3Service.readFile(sourceUrl);
+        if (original == null) {
+            logger.debug("Post {} image is not in our storage, no derivatives: {}", postId, sourceUrl);
+            return;
+        }
+        BufferedImage image = ImageResizer.decode(original, feedWidth, maxSourcePixels);
+        if (image == null) {
+            logger.warn("Post {} image could not be decoded or is too large, no derivatives: {}", postId, sourceUrl);
+            return;
+        }
+
+        String feedUrl = store(sourceUrl, FEED_SUFFIX, image, feedWidth, original.length);
+        String thumbnailUrl = store(sourceUrl, THUMBNAIL_SUFFIX, image, thumbnailWidth, original.length);
+
+        if (!postService.applyImageDerivatives(postId, sourceUrl, thumbnailUrl, feedUrl)) {
+            // The image was replaced (or the post deleted) while we worked
+            deleteDerivatives(sourceUrl);
+            return;
+        }
+        if (previousSource != null && !previousSource.equals(sourceUrl)) {
+            deleteDerivatives(previousSource);
+        }
+    }
+
+    /**
+     * Remove the stored copies of an image, if any. Missing files count as deleted.
+     */
+    public void deleteDerivativesOrThrow(String mediaUrl) throws IOException {
+        if (!isDerivable(mediaUrl)) {
+            return;
+        }
+        s3Service.deleteFileOrThrow(derivedUrl(mediaUrl, THUMBNAIL_SUFFIX));
+        s3Service.deleteFileOrThrow(derivedUrl(mediaUrl, FEED_SUFFIX));
+    }
+
+    private void deleteDerivatives(String mediaUrl) {
+        try {
+            deleteDerivativesOrThrow(mediaUrl);
+        } catch (IOException e) {
+            logger.warn("Could not delete image derivatives of {}: {}", mediaUrl, e.getMessage());
+        }
+    }
+
+    private String store(String sourceUrl, String suffix, BufferedImage image, int maxWidth, int originalBytes)
+            throws IOException {
+        byte[] jpeg = ImageResizer.toJpeg(image, maxWidth, jpegQuality);
+        if (image.getWidth() <= maxWidth && jpeg.length >= originalBytes) {
+            return sourceUrl;
+        }
+        String url = derivedUrl(sourceUrl, suffix);
+        s3Service.uploadDerivedFile(url, jpeg, "image/jpeg");
+        return url;
+    }
+}
@@ -1,5 +1,6 @@
 package com.cuet.sphere.service;
 
+import com.cuet.sphere.dto.AuthorSummary;
 import com.cuet.sphere.model.Notice;
 import com.cuet.sphere.model.User;
 import com.cuet.sphere.model.User.Role;
@@ -12,6 +13,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -40,6 +42,9 @@ public class NoticeService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private AuthorCache authorCache;
+    
     public NoticeResponse createNotice(NoticeRequest noticeRequest, User sender) throws UserException {
         try {
             // Check if sender is CR or SYSTEM_ADMIN
@@ -72,6 +77,7 @@ public class NoticeService {
         }
     }
     
+    @Transactional(readOnly = true)
     public Page<NoticeResponse> getNoticesByUser(User user, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         
@@ -86,9 +92,11 @@ public class NoticeService {
             );
         }
         
+        prefetchSenders(notices.getContent());
         return notices.map(this::convertToResponse);
     }
     
+    @Transactional(readOnly = true)
     public List<NoticeResponse> getNoticesByUserAndType(User user, Notice.NoticeType noticeType) {
         List<Notice> notices = noticeRepository.findByBatchAndDepartmentAndNoticeTypeOrderByCreatedAtDesc(
             user.getBatch(), 
@@ -96,11 +104,13 @@ public class NoticeService {
             noticeType
         );
         
+        prefetchSenders(notices);
         return notices.stream()
             .map(this::convertToResponse)
             .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<NoticeResponse> getNoticesBySender(User sender) throws UserException {
         if (!sender.isCR() && !Role.SYSTEM_ADMIN.equals(sender.getRole())) {
             throw new UserException("Only CR users and System Administrators can view their sent notices");
@@ -108,11 +118,13 @@ public class NoticeService {
         
         List<Notice> notices = noticeRepository.findBySenderIdOrderByCreatedAtDesc(sender.getId());
         
+        prefetchSenders(notices);
         return notices.stream()
             .map(this::convertToResponse)
             .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public NoticeResponse getNoticeById(Long noticeId, User user) throws UserException {
         Notice notice = noticeRepository.findById(noticeId)
             .orElseThrow(() -> new UserException("Notice not found"));
@@ -127,6 +139,7 @@ public class NoticeService {
         return convertToResponse(notice);
     }
     
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getGroupMembers(User user) {
         List<User> groupMembers;
         
@@ -180,6 +193,11 @@ public class NoticeService {
         noticeRepository.delete(notice);
     }
     
+    // Load all uncached senders of a list in one query instead of one lazy load per notice
+    private void prefetchSenders(List<Notice> notices) {
+        authorCache.getAll(notices.stream().map(notice -> notice.getSender().getId()).collect(Collectors.toList()));
+    }
+    
     private NoticeResponse convertToResponse(Notice notice) {
         NoticeResponse response = new NoticeResponse();
         response.setNoticeId(notice.getNoticeId());
@@ -189,8 +207,9 @@ public class NoticeService {
         response.setMessage(notice.getMessage());
         response.setAttachment(notice.getAttachment());
         response.setNoticeType(notice.getNoticeType());
-        response.setSenderName(notice.getSender().getFullName());
-        response.setSenderEmail(notice.getSender().getEmail());
+        AuthorSummary sender = authorCache.get(notice.getSender());
+        response.setSenderName(sender.getFullName());
+        response.setSenderEmail(sender.getEmail());
         response.setCreatedAt(notice.getCreatedAt());
         response.setUpdatedAt(notice.getUpdatedAt());
         return response;
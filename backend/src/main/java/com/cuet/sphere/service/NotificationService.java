@@ -1,5 +1,7 @@
 package com.cuet.sphere.service;
 
+import com.cuet.sphere.dto.AuthorSummary;
+import com.cuet.sphere.dto.CursorPage;
 import com.cuet.sphere.dto.NotificationDTO;
 import com.cuet.sphere.model.Notification;
 import com.cuet.sphere.model.User;
@@ -7,14 +9,18 @@ import com.cuet.sphere.model.Post;
 import com.cuet.sphere.model.Comment;
 import com.cuet.sphere.model.Reply;
 import com.cuet.sphere.repository.NotificationRepository;
-import com.cuet.sphere.repository.UserRepository;
+import com.cuet.sphere.util.KeysetCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -24,11 +30,10 @@ public class NotificationService {
     
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
     
-    @Autowired
-    private NotificationRepository notificationRepository;
+    private static final int MAX_SLICE_SIZE = 50;
     
     @Autowired
-    private UserRepository userRepository;
+    private NotificationRepository notificationRepository;
     
     @Autowired
     private EmailService emailService;
@@ -36,13 +41,54 @@ public class NotificationService {
     @Autowired
     private WebSocketService webSocketService;
     
+    @Autowired
+    private AuthorCache authorCache;
+    
+    @Transactional(readOnly = true)
     public List<NotificationDTO> getUserNotifications(Long userId) {
         List<Notification> notifications = notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        return notifications.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(notifications);
     }
     
+    /**
+     * One newest-first slice of the user's notifications; pass the returned nextCursor
+     * back for the next slice (null or empty for the first).
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<NotificationDTO> getUserNotificationsSlice(Long userId, String cursor, int size, boolean unreadOnly) {
+        int limit = Math.max(1, Math.min(size, MAX_SLICE_SIZE));
+        // Fetch one extra row to know whether another slice exists
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        
+        List<Notification> notifications;
+        if (cursor == null || cursor.isBlank()) {
+            notifications = unreadOnly
+                ? notificationRepository.findUnreadSlice(userId, pageable)
+                : notificationRepository.findSlice(userId, pageable);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            notifications = unreadOnly
+                ? notificationRepository.findUnreadSliceAfter(userId, after.getCreatedAt(), after.getId(), pageable)
+                : notificationRepository.findSliceAfter(userId, after.getCreatedAt(), after.getId(), pageable);
+        }
+        
+        boolean hasNext = notifications.size() > limit;
+        if (hasNext) {
+            notifications = notifications.subList(0, limit);
+        }
+        
+        List<NotificationDTO> dtos = convertToDTOs(notifications);
+        
+        String nextCursor = null;
+        if (hasNext) {
+            Notification last = notifications.get(notifications.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(dtos, nextCursor, hasNext);
+    }
+    
+    @Transactional(readOnly = true)
     public Long getUnreadCount(Long userId) {
         return notificationRepository.countUnreadByUserId(userId);
     }
@@ -115,11 +161,14 @@ public class NotificationService {
         logger.debug("Reply notification created for comment: {} - User will see it on notifications page", comment.getId());
     }
     
-    // Create notification for admin when new post is created (Database + Email notification)
-    public void createNewPostAdminNotification(Post post, User postCreator) {
-        // Find all system admins
-        List<User> admins = userRepository.findByRole(User.Role.SYSTEM_ADMIN);
-        
+    /**
+     * Notifications for the given admins about a new post, inserted together. Admins who wrote
+     * the post themselves are skipped; the ones notified are returned so the caller can queue
+     * their emails (see OutboxService).
+     */
+    public List<User> createNewPostAdminNotifications(Post post, User postCreator, List<User> admins) {
+        List<User> notified = new ArrayList<>();
+        List<Notification> notifications = new ArrayList<>();
         for (User admin : admins) {
             if (admin.getId().equals(postCreator.getId())) {
                 continue; // Don't notify admin if they created the post
@@ -133,20 +182,13 @@ public class NotificationService {
             notification.setType(Notification.NotificationType.NEW_POST_ADMIN);
             notification.setRelatedPostId(post.getId());
             notification.setActorUserId(postCreator.getId());
-            
-            notificationRepository.save(notification);
-            
-            // Send email notification to admin (IMPORTANT: Admins get emails for new posts)
-            emailService.sendNewPostAdminEmail(
-                admin.getEmail(),
-                admin.getFullName(),
-                postCreator.getFullName(),
-                post.getTitle(),
-                post.getContent()
-            );
-            
-            logger.debug("Admin notification created (Database + Email) for new post: {} to admin: {}", post.getId(), admin.getEmail());
+            notifications.add(notification);
+            notified.add(admin);
         }
+        
+        notificationRepository.saveAll(notifications);
+        logger.debug("Admin notifications created for new post: {} ({} admins)", post.getId(), notified.size());
+        return notified;
     }
     
     // Create welcome notification for new user
@@ -165,15 +207,21 @@ public class NotificationService {
         emailService.sendWelcomeEmail(newUser.getEmail(), newUser.getFullName());
     }
     
-    private NotificationDTO convertToDTO(Notification notification) {
+    // Actor names of all notifications are resolved with at most one user query
+    private List<NotificationDTO> convertToDTOs(List<Notification> notifications) {
+        Map<Long, AuthorSummary> actors = authorCache.getAll(
+            notifications.stream().map(Notification::getActorUserId).collect(Collectors.toList()));
+        return notifications.stream()
+                .map(notification -> convertToDTO(notification, actors.get(notification.getActorUserId())))
+                .collect(Collectors.toList());
+    }
+    
+    private NotificationDTO convertToDTO(Notification notification, AuthorSummary actor) {
         NotificationDTO dto = NotificationDTO.fromEntity(notification);
         
         // Add actor user name if available
-        if (notification.getActorUserId() != null) {
-            Optional<User> actorUser = userRepository.findById(notification.getActorUserId());
-            if (actorUser.isPresent()) {
-                dto.setActorUserName(actorUser.get().getFullName());
-            }
+        if (actor != null) {
+            dto.setActorUserName(actor.getFullName());
         }
         
         return dto;
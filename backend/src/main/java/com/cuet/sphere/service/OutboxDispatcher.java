@@ -0,0 +1,195 @@
+package com.cuet.sphere.service;
+
+import com.cuet.sphere.dto.AuthorSummary;
+import com.cuet.sphere.model.OutboxEvent;
+import com.cuet.sphere.model.Post;
+import com.cuet.sphere.model.User;
+import com.cuet.sphere.repository.PostRepository;
+import com.cuet.sphere.repository.UserRepository;
+import com.cuet.sphere.util.RetryPolicy;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers outbox events (see OutboxService) off the request path.
+ *
+ * Due events are taken in batches; the admin list is read once per batch. Emails and
+ * image derivatives (S3 download, decode, re-encode, uploads) run on a small bounded
+ * worker pool so a slow one does not hold up the scheduler; an event waits on the next
+ * run while its task is queued or running, and stays due when the queue is full. A failed
+ * event is retried with an exponential backoff and dropped (with an error log) after
+ * the last attempt. Delivery is at least once: a crash between sending an email and
+ * removing its event sends that email again.
+ */
+@Component
+public class OutboxDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private AuthorCache authorCache;
+
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
+    private final int batchSize;
+    private final RetryPolicy retryPolicy;
+    // Null when outbox.workers.threads is 0: tasks then run on the scheduler thread
+    private final ThreadPoolExecutor workers;
+    // Events whose task is queued or running on a worker
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder deferred = new LongAdder();
+
+    public OutboxDispatcher(@Value("${outbox.dispatch.batch.size:50}") int batchSize,
+                            @Value("${outbox.dispatch.max-attempts:8}") int maxAttempts,
+                            @Value("${outbox.dispatch.retry.delay.ms:5000}") long retryDelayMs,
+                            @Value("${outbox.workers.threads:2}") int workerThreads,
+                            @Value("${outbox.workers.queue-capacity:50}") int queueCapacity) {
+        this.batchSize = Math.max(1, batchSize);
+        this.retryPolicy = new RetryPolicy(maxAttempts, retryDelayMs);
+        this.workers = workerThreads <= 0 ? null : new ThreadPoolExecutor(workerThreads, workerThreads,
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                new CustomizableThreadFactory("outbox-worker-"));
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.dispatch.interval.ms:1000}")
+    public void dispatch() {
+        // Taken before the query: a task that finished after this point has already
+        // completed or rescheduled its event, so the query cannot return it as due
+        Set<Long> busy = Set.copyOf(inFlight);
+        List<OutboxEvent> due = outboxService.findDue(batchSize);
+        List<User> admins = null;
+        for (OutboxEvent event : due) {
+            if (busy.contains(event.getId())) {
+                continue;
+            }
+            switch (event.getType()) {
+                case NEW_POST -> {
+                    try {
+                        if (admins == null) {
+                            admins = userRepository.findByRole(User.Role.SYSTEM_ADMIN);
+                        }
+                        outboxService.fanOutNewPost(event, admins);
+                        delivered.increment();
+                    } catch (Exception e) {
+                        handleFailure(event, e);
+                    }
+                }
+                case NEW_POST_ADMIN_EMAIL -> submit(event, () -> sendNewPostAdminEmail(event));
+                case POST_IMAGE_DERIVATIVES -> submit(event, () -> imageDerivativeService.generate(event.getPostId()));
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = retryPolicy.getStats();
+        stats.put("delivered", delivered.sum());
+        stats.put("inFlight", inFlight.size());
+        stats.put("deferred", deferred.sum());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (workers != null) {
+            // Queued events are still in the table and are picked up again after a restart
+            workers.shutdownNow();
+        }
+    }
+
+    private void submit(OutboxEvent event, Task task) {
+        Runnable delivery = () -> {
+            try {
+                task.run();
+                outboxService.complete(event.getId());
+                delivered.increment();
+            } catch (Exception e) {
+                handleFailure(event, e);
+            }
+        };
+        if (workers == null) {
+            delivery.run();
+            return;
+        }
+
+        inFlight.add(event.getId());
+        try {
+            workers.execute(() -> {
+                try {
+                    delivery.run();
+                } finally {
+                    inFlight.remove(event.getId());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Queue full: the event stays due and is offered again on the next run
+            inFlight.remove(event.getId());
+            deferred.increment();
+        }
+    }
+
+    private void sendNewPostAdminEmail(OutboxEvent event) {
+        Optional<Post> post = postRepository.findById(event.getPostId());
+        Map<Long, AuthorSummary> users = authorCache.getAll(List.of(event.getActorUserId(), event.getRecipientUserId()));
+        AuthorSummary creator = users.get(event.getActorUserId());
+        AuthorSummary admin = users.get(event.getRecipientUserId());
+        if (post.isEmpty() || creator == null || admin == null) {
+            // Post or user deleted since the event was written; nothing left to tell
+            return;
+        }
+
+        boolean sent = emailService.sendNewPostAdminEmail(admin.getEmail(), admin.getFullName(),
+            creator.getFullName(), post.get().getTitle(), post.get().getContent());
+        if (!sent) {
+            throw new IllegalStateException("Email provider rejected the message to " + admin.getEmail());
+        }
+    }
+
+    private void handleFailure(OutboxEvent event, Exception e) {
+        if (!retryPolicy.onFailure(event, e)) {
+            logger.error("Dropping outbox event {} ({} for post {}) after {} attempts: {}",
+                event.getId(), event.getType(), event.getPostId(), event.getAttempts() + 1, e.getMessage());
+            outboxService.complete(event.getId());
+            return;
+        }
+
+        logger.warn("Outbox event {} ({}) failed (attempt {}), retrying at {}: {}",
+            event.getId(), event.getType(), event.getAttempts(), event.getNextAttemptAt(), e.getMessage());
+        outboxService.saveProgress(event);
+    }
+
+    // One delivery step; may throw whatever its email or storage call throws
+    private interface Task {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,88 @@
+package com.cuet.sphere.service;
+
+import com.cuet.sphere.model.OutboxEvent;
+import com.cuet.sphere.model.Post;
+import com.cuet.sphere.model.User;
+import com.cuet.sphere.repository.OutboxEventRepository;
+import com.cuet.sphere.repository.PostRepository;
+import com.cuet.sphere.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Transactional outbox for side effects of saving a post.
+ *
+ * recordNewPost() joins the transaction that inserts the post, so the event exists
+ * exactly when the post does. OutboxDispatcher delivers events after commit; each
+ * delivery step runs in its own transaction and removes the event it handled.
+ */
+@Service
+public class OutboxService {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordNewPost(Post post) {
+        outboxEventRepository.save(new OutboxEvent(
+            OutboxEvent.Type.NEW_POST, post.getId(), post.getUserId(), null, LocalDateTime.now()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordImageDerivatives(Post post) {
+        outboxEventRepository.save(new OutboxEvent(
+            OutboxEvent.Type.POST_IMAGE_DERIVATIVES, post.getId(), post.getUserId(), null, LocalDateTime.now()));
+    }
+
+    /**
+     * Deliver a NEW_POST event: the admin notifications and one email event per notified
+     * admin, in a single transaction. A post deleted in the meantime is skipped.
+     */
+    @Transactional
+    public void fanOutNewPost(OutboxEvent event, List<User> admins) {
+        Optional<Post> post = postRepository.findById(event.getPostId());
+        Optional<User> creator = userRepository.findById(event.getActorUserId());
+        if (post.isPresent() && creator.isPresent()) {
+            List<User> notified = notificationService.createNewPostAdminNotifications(post.get(), creator.get(), admins);
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> emails = new ArrayList<>(notified.size());
+            for (User admin : notified) {
+                emails.add(new OutboxEvent(OutboxEvent.Type.NEW_POST_ADMIN_EMAIL,
+                    event.getPostId(), event.getActorUserId(), admin.getId(), now));
+            }
+            outboxEventRepository.saveAll(emails);
+        }
+        outboxEventRepository.deleteById(event.getId());
+    }
+
+    public List<OutboxEvent> findDue(int limit) {
+        return outboxEventRepository.findDue(LocalDateTime.now(), PageRequest.of(0, limit));
+    }
+
+    @Transactional
+    public void complete(Long eventId) {
+        outboxEventRepository.deleteById(eventId);
+    }
+
+    @Transactional
+    public void saveProgress(OutboxEvent event) {
+        outboxEventRepository.save(event);
+    }
+}
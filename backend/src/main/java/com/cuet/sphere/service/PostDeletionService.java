@@ -0,0 +1,99 @@
+package com.cuet.sphere.service;
+
+import com.cuet.sphere.model.Post;
+import com.cuet.sphere.model.PostDeletion;
+import com.cuet.sphere.repository.CommentRepository;
+import com.cuet.sphere.repository.PostDeletionRepository;
+import com.cuet.sphere.repository.PostRepository;
+import com.cuet.sphere.repository.ReplyRepository;
+import com.cuet.sphere.repository.SavedPostRepository;
+import com.cuet.sphere.repository.VoteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Two-phase post deletion.
+ *
+ * tombstone() runs in the request: it stamps deleted_at (which hides the post from every
+ * query through the @SQLRestriction on Post), drops the post's tags from tag_feed and
+ * tag_stats so trending counts move at once, and queues a PostDeletion entry.
+ * purge() runs later from PostDeletionWorker and removes the children and the row with
+ * one set-based DELETE per table instead of loading them through the JPA cascade.
+ */
+@Service
+public class PostDeletionService {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostDeletionRepository postDeletionRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ReplyRepository replyRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private SavedPostRepository savedPostRepository;
+
+    @Autowired
+    private PostTagService postTagService;
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private PostViewService postViewService;
+
+    @Transactional
+    public void tombstone(Post post) {
+        LocalDateTime now = LocalDateTime.now();
+        if (postRepository.tombstone(post.getId(), now) == 0) {
+            // Already tombstoned by a concurrent delete
+            return;
+        }
+        postTagService.removePost(post.getId());
+        postDeletionRepository.save(new PostDeletion(post.getId(), post.getMediaUrl(), now));
+    }
+
+    /**
+     * Remove a tombstoned post and everything that references it. Idempotent, so a
+     * retry after a partial failure simply deletes whatever is left.
+     */
+    @Transactional
+    public void purge(Long postId) {
+        replyRepository.deleteByPostId(postId);
+        commentRepository.deleteByPostId(postId);
+        voteRepository.deleteByPostId(postId);
+        savedPostRepository.deleteByPostId(postId);
+        timelineService.removePost(postId);
+        postViewService.removePost(postId);
+        postTagService.removePost(postId);
+        postRepository.purgeTags(postId);
+        postRepository.purgeTombstoned(postId);
+    }
+
+    public List<PostDeletion> findDue(int limit) {
+        return postDeletionRepository.findDue(LocalDateTime.now(), PageRequest.of(0, limit));
+    }
+
+    @Transactional
+    public void complete(Long postId) {
+        postDeletionRepository.deleteById(postId);
+    }
+
+    @Transactional
+    public void saveProgress(PostDeletion deletion) {
+        postDeletionRepository.save(deletion);
+    }
+}
@@ -0,0 +1,84 @@
+package com.cuet.sphere.service;
+
+import com.cuet.sphere.model.PostDeletion;
+import com.cuet.sphere.util.RetryPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Background half of post deletion (see PostDeletionService).
+ *
+ * Each due entry is purged from the database and then has its media, including the
+ * resized copies made by ImageDerivativeService, deleted. A failure in either step
+ * leaves the entry queued with an exponential backoff; after the last attempt the
+ * entry is dropped and the leftover is logged for manual cleanup.
+ */
+@Component
+public class PostDeletionWorker {
+    private static final Logger logger = LoggerFactory.getLogger(PostDeletionWorker.class);
+
+    @Autowired
+    private PostDeletionService postDeletionService;
+
+    @Autowired
+    private S3Service s3Service;
+
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
+    private final int batchSize;
+    private final RetryPolicy retryPolicy;
+
+    private final LongAdder completed = new LongAdder();
+
+    public PostDeletionWorker(@Value("${posts.deletion.batch.size:20}") int batchSize,
+                              @Value("${posts.deletion.max-attempts:6}") int maxAttempts,
+                              @Value("${posts.deletion.retry.delay.ms:5000}") long retryDelayMs) {
+        this.batchSize = Math.max(1, batchSize);
+        this.retryPolicy = new RetryPolicy(maxAttempts, retryDelayMs);
+    }
+
+    @Scheduled(fixedDelayString = "${posts.deletion.interval.ms:2000}")
+    public void processDueDeletions() {
+        List<PostDeletion> due = postDeletionService.findDue(batchSize);
+        for (PostDeletion deletion : due) {
+            process(deletion);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = retryPolicy.getStats();
+        stats.put("completed", completed.sum());
+        return stats;
+    }
+
+    private void process(PostDeletion deletion) {
+        Long postId = deletion.getPostId();
+        try {
+            postDeletionService.purge(postId);
+            s3Service.deleteFileOrThrow(deletion.getMediaUrl());
+            imageDerivativeService.deleteDerivativesOrThrow(deletion.getMediaUrl());
+            postDeletionService.complete(postId);
+            completed.increment();
+        } catch (Exception e) {
+            if (!retryPolicy.onFailure(deletion, e)) {
+                logger.error("Giving up deleting post {} after {} attempts (media: {}): {}",
+                    postId, deletion.getAttempts() + 1, deletion.getMediaUrl(), e.getMessage());
+                postDeletionService.complete(postId);
+                return;
+            }
+
+            logger.warn("Deleting post {} failed (attempt {}), retrying at {}: {}",
+                postId, deletion.getAttempts(), deletion.getNextAttemptAt(), e.getMessage());
+            postDeletionService.saveProgress(deletion);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.cuet.sphere.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams every post as NDJSON (one JSON object per line) for admin exports and backups.
+ *
+ * Rows are read through a forward-only, read-only JDBC cursor with a fixed fetch size
+ * and written to the output as they arrive, so only one post is held in memory at a
+ * time. Tags come from a LEFT JOIN in the same statement; consecutive rows of the same
+ * post are folded into one record. MySQL Connector/J only streams a result set when the
+ * fetch size is Integer.MIN_VALUE, so the export asks for that on MySQL; the setting is
+ * per statement and leaves every other query in the pool alone.
+ */
+@Service
+public class PostExportService {
+    private static final Logger logger = LoggerFactory.getLogger(PostExportService.class);
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String EXPORT_SQL = """
+        SELECT p.id, p.title, p.content, p.media_url, p.created_at, p.updated_at, p.user_id,
+               p.upvote_count, p.downvote_count, p.comment_count,
+               u.u_full_name, u.u_email, u.u_batch, u.u_department, u.u_student_id,
+               t.tag
+        FROM post p
+        LEFT JOIN users u ON u.id = p.user_id
+        LEFT JOIN post_tags t ON t.post_id = p.id
+        WHERE p.deleted_at IS NULL
+        ORDER BY p.id
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Records are written field by field, so a plain streaming factory is all that is needed
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * Write all posts to the stream, oldest id first
+     * @return the number of posts written
+     */
+    @Transactional(readOnly = true)
+    public long exportPosts(OutputStream out) throws IOException {
+        long started = System.currentTimeMillis();
+        JsonGenerator generator = jsonFactory.createGenerator(out);
+        PostRecord[] current = new PostRecord[1];
+        long[] written = new long[1];
+
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                boolean mysql = "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+                statement.setFetchSize(mysql ? Integer.MIN_VALUE : FETCH_SIZE);
+                return statement;
+            }, resultSet -> {
+                long id = resultSet.getLong("id");
+                if (current[0] == null || current[0].id != id) {
+                    if (current[0] != null) {
+                        writeRecord(generator, current[0]);
+                        if (++written[0] % FETCH_SIZE == 0) {
+                            flush(generator);
+                        }
+                    }
+                    current[0] = PostRecord.from(resultSet);
+                }
+                String tag = resultSet.getString("tag");
+                if (tag != null) {
+                    current[0].tags.add(tag);
+                }
+            });
+
+            if (current[0] != null) {
+                writeRecord(generator, current[0]);
+                written[0]++;
+            }
+        } catch (UncheckedIOException e) {
+            // Usually the client went away mid-download
+            throw e.getCause();
+        } finally {
+            generator.flush();
+        }
+
+        logger.info("Exported {} posts in {} ms", written[0], System.currentTimeMillis() - started);
+        return written[0];
+    }
+
+    private void writeRecord(JsonGenerator generator, PostRecord post) {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("id", post.id);
+            generator.writeStringField("title", post.title);
+            generator.writeStringField("content", post.content);
+            generator.writeStringField("mediaUrl", post.mediaUrl);
+            generator.writeStringField("createdAt", post.createdAt);
+            generator.writeStringField("updatedAt", post.updatedAt);
+            if (post.userId != null) {
+                generator.writeNumberField("userId", post.userId);
+            } else {
+                generator.writeNullField("userId");
+            }
+            generator.writeStringField("author", post.author);
+            generator.writeStringField("authorEmail", post.authorEmail);
+            generator.writeStringField("studentId", post.studentId);
+            generator.writeNumberField("upvotes", post.upvotes);
+            generator.writeNumberField("downvotes", post.downvotes);
+            generator.writeNumberField("commentCount", post.commentCount);
+            generator.writeArrayFieldStart("tags");
+            for (String tag : post.tags) {
+                generator.writeString(tag);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void flush(JsonGenerator generator) {
+        try {
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // One post's columns plus the tags collected from its consecutive rows
+    private static final class PostRecord {
+        private long id;
+        private String title;
+        private String content;
+        private String mediaUrl;
+        private String createdAt;
+        private String updatedAt;
+        private Long userId;
+        private String author;
+        private String authorEmail;
+        private String studentId;
+        private int upvotes;
+        private int downvotes;
+        private int commentCount;
+        private final List<String> tags = new ArrayList<>();
+
+        static PostRecord from(ResultSet rs) throws SQLException {
+            PostRecord post = new PostRecord();
+            post.id = rs.getLong("id");
+            post.title = rs.getString("title");
+            post.content = rs.getString("content");
+            post.mediaUrl = rs.getString("media_url");
+            post.createdAt = toIsoString(rs.getTimestamp("created_at"));
+            post.updatedAt = toIsoString(rs.getTimestamp("updated_at"));
+            long userId = rs.getLong("user_id");
+            post.userId = rs.wasNull() ? null : userId;
+            post.author = rs.getString("u_full_name");
+            post.authorEmail = rs.getString("u_email");
+            String batch = rs.getString("u_batch");
+            post.studentId = batch != null
+                ? batch + rs.getString("u_department") + rs.getString("u_student_id")
+                : null;
+            post.upvotes = rs.getInt("upvote_count");
+            post.downvotes = rs.getInt("downvote_count");
+            post.commentCount = rs.getInt("comment_count");
+            return post;
+        }
+
+        private static String toIsoString(Timestamp timestamp) {
+            return timestamp != null ? timestamp.toLocalDateTime().toString() : null;
+        }
+    }
+}
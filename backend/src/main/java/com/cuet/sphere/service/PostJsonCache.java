@@ -0,0 +1,214 @@
+package com.cuet.sphere.service;
+
+import com.cuet.sphere.dto.PostDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pre-serialized JSON for feed PostDTOs, keyed by (postId, version).
+ *
+ * The version is the part of a DTO that can change after the post is created (updatedAt,
+ * the counters, the image derivative URLs and the author's display fields), so an entry built from an older DTO is
+ * never served. Feed endpoints wrap the fragments in RawValue; Jackson then copies the
+ * cached UTF-8 bytes into the response instead of walking the DTO again. The per-user
+ * saved flag is part of the JSON, so each entry keeps one fragment per flag value.
+ *
+ * Edits, votes, comment count changes and deletes also drop the entry explicitly so
+ * stale fragments do not hold memory until they are evicted.
+ */
+@Component
+public class PostJsonCache {
+
+    private final int capacity;
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong footprintBytes = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public PostJsonCache(@Value("${feed.json-cache.capacity:5000}") int capacity,
+                         ObjectProvider<ObjectMapper> objectMapperProvider) {
+        this.capacity = capacity;
+        // Same mapper as the HTTP message converters, so cached and fresh JSON are identical
+        this.objectMapper = objectMapperProvider.getIfAvailable(() -> Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    /**
+     * The DTO as a raw JSON value, from the cache when an entry of the same version exists.
+     * DTOs carrying comments are not cached; their JSON depends on more than the version.
+     * Feed DTOs come with an empty comment list and are cached.
+     */
+    public RawValue fragment(PostDTO dto) {
+        if (capacity <= 0 || dto.getId() == null || (dto.getComments() != null && !dto.getComments().isEmpty())) {
+            return new RawValue(serialize(dto));
+        }
+
+        Version version = Version.of(dto);
+        boolean saved = dto.isSaved();
+        Entry entry = entries.get(dto.getId());
+        if (entry != null && entry.version.equals(version)) {
+            SerializedString json = entry.get(saved);
+            if (json != null) {
+                hits.increment();
+                return new RawValue(json);
+            }
+        }
+
+        misses.increment();
+        SerializedString json = serialize(dto);
+        if (entry == null && entries.size() >= capacity) {
+            evictOne();
+        }
+        entries.compute(dto.getId(), (id, current) -> {
+            Entry next = current != null && current.version.equals(version)
+                    ? current.with(saved, json)
+                    : new Entry(version).with(saved, json);
+            footprintBytes.addAndGet(next.footprint() - (current != null ? current.footprint() : 0));
+            return next;
+        });
+        return new RawValue(json);
+    }
+
+    public void invalidate(Long postId) {
+        entries.computeIfPresent(postId, (id, current) -> {
+            footprintBytes.addAndGet(-current.footprint());
+            return null;
+        });
+    }
+
+    public void clear() {
+        for (Long postId : entries.keySet()) {
+            invalidate(postId);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("capacity", capacity);
+        stats.put("size", entries.size());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        stats.put("footprintBytes", footprintBytes.get());
+        return stats;
+    }
+
+    private SerializedString serialize(PostDTO dto) {
+        try {
+            SerializedString json = new SerializedString(objectMapper.writeValueAsString(dto));
+            // Encode once now; SerializedString keeps the bytes for every later write
+            json.asUnquotedUTF8();
+            return json;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize post " + dto.getId(), e);
+        }
+    }
+
+    // Full caches drop an arbitrary entry; the feed keeps re-warming the posts it shows
+    private void evictOne() {
+        Iterator<Long> keys = entries.keySet().iterator();
+        if (keys.hasNext()) {
+            invalidate(keys.next());
+        }
+    }
+
+    private static final class Entry {
+        private final Version version;
+        private final SerializedString unsaved;
+        private final SerializedString saved;
+
+        private Entry(Version version) {
+            this(version, null, null);
+        }
+
+        private Entry(Version version, SerializedString unsaved, SerializedString saved) {
+            this.version = version;
+            this.unsaved = unsaved;
+            this.saved = saved;
+        }
+
+        SerializedString get(boolean savedFlag) {
+            return savedFlag ? saved : unsaved;
+        }
+
+        Entry with(boolean savedFlag, SerializedString json) {
+            return savedFlag ? new Entry(version, unsaved, json) : new Entry(version, json, saved);
+        }
+
+        // Retained size: the UTF-8 bytes plus the String they were encoded from (two bytes a char at most)
+        long footprint() {
+            return size(unsaved) + size(saved);
+        }
+
+        private static long size(SerializedString json) {
+            return json == null ? 0 : json.asUnquotedUTF8().length + 2L * json.charLength();
+        }
+    }
+
+    private static final class Version {
+        private final LocalDateTime updatedAt;
+        private final int upvotes;
+        private final int downvotes;
+        private final int commentCount;
+        private final String thumbnailUrl;
+        private final String feedImageUrl;
+        private final String author;
+        private final String profilePicture;
+
+        private Version(PostDTO dto) {
+            this.updatedAt = dto.getUpdatedAt();
+            this.upvotes = dto.getUpvotes();
+            this.downvotes = dto.getDownvotes();
+            this.commentCount = dto.getCommentCount();
+            this.thumbnailUrl = dto.getThumbnailUrl();
+            this.feedImageUrl = dto.getFeedImageUrl();
+            this.author = dto.getAuthor();
+            this.profilePicture = dto.getProfilePicture();
+        }
+
+        static Version of(PostDTO dto) {
+            return new Version(dto);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Version)) return false;
+            Version other = (Version) o;
+            return upvotes == other.upvotes
+                    && downvotes == other.downvotes
+                    && commentCount == other.commentCount
+                    && Objects.equals(updatedAt, other.updatedAt)
+                    && Objects.equals(thumbnailUrl, other.thumbnailUrl)
+                    && Objects.equals(feedImageUrl, other.feedImageUrl)
+                    && Objects.equals(author, other.author)
+                    && Objects.equals(profilePicture, other.profilePicture);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(updatedAt, upvotes, downvotes, commentCount, thumbnailUrl, feedImageUrl, author, profilePicture);
+        }
+    }
+}
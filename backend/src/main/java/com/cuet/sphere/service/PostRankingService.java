@@ -0,0 +1,48 @@
+package com.cuet.sphere.service;
+
+import com.cuet.sphere.repository.PostRepository;
+import com.cuet.sphere.util.HotScore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps the persisted hot_score column in step with a post's counters.
+ * Called in the same transaction as the counter update, so the row is already
+ * locked and the score is computed from the counters that transaction committed.
+ */
+@Service
+public class PostRankingService {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Transactional
+    public void refreshHotScore(Long postId) {
+        if (postId == null) {
+            return;
+        }
+        refreshHotScores(postId, postId);
+    }
+
+    // Recompute scores for a window of post ids, writing only the ones that changed
+    @Transactional
+    public int refreshHotScores(Long fromId, Long toId) {
+        int updated = 0;
+        List<Object[]> rows = postRepository.findHotScoreInputs(fromId, toId);
+        for (Object[] row : rows) {
+            double score = HotScore.compute(
+                ((Number) row[1]).intValue(),
+                ((Number) row[2]).intValue(),
+                ((Number) row[3]).intValue(),
+                (LocalDateTime) row[4]);
+            if (score != ((Number) row[5]).doubleValue()) {
+                updated += postRepository.updateHotScore((Long) row[0], score);
+            }
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,201 @@
+package com.cuet.sphere.service;
+
+import com.cuet.sphere.util.ScoreCursor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process inverted index over post title, content and tags.
+ *
+ * Each term maps to the posts containing it with a field-weighted term frequency
+ * (title counts more than tags, tags more than content). Queries are scored with
+ * BM25, so the cost of a search is proportional to the postings of the query terms
+ * rather than to the number of posts. The index is filled at startup by
+ * PostService and then kept current by post create/update/delete.
+ */
+@Component
+public class PostSearchIndex {
+
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float TAG_WEIGHT = 2.0f;
+    private static final float CONTENT_WEIGHT = 1.0f;
+
+    // BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERM_LENGTH = 40;
+    private static final int MAX_QUERY_TERMS = 10;
+
+    private static final Comparator<Hit> BEST_FIRST = Comparator
+            .comparingDouble(Hit::getScore).reversed()
+            .thenComparing(Hit::getPostId, Comparator.reverseOrder());
+
+    // term -> (postId -> weighted term frequency)
+    private final ConcurrentHashMap<String, ConcurrentHashMap<Long, Float>> postings = new ConcurrentHashMap<>();
+    // postId -> terms indexed for that post, so a post can be removed without a scan
+    private final ConcurrentHashMap<Long, Set<String>> termsByPost = new ConcurrentHashMap<>();
+    // postId -> weighted document length, for BM25 length normalization
+    private final ConcurrentHashMap<Long, Float> lengths = new ConcurrentHashMap<>();
+
+    private volatile double totalLength = 0;
+
+    /**
+     * Add a post to the index, replacing whatever was indexed for it before
+     */
+    public synchronized void index(Long postId, String title, String content, Collection<String> tags) {
+        removeInternal(postId);
+
+        Map<String, Float> frequencies = new HashMap<>();
+        addTerms(frequencies, title, TITLE_WEIGHT);
+        addTerms(frequencies, content, CONTENT_WEIGHT);
+        if (tags != null) {
+            for (String tag : tags) {
+                addTerms(frequencies, tag, TAG_WEIGHT);
+            }
+        }
+
+        float length = 0;
+        for (Map.Entry<String, Float> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new ConcurrentHashMap<>())
+                    .put(postId, entry.getValue());
+            length += entry.getValue();
+        }
+        termsByPost.put(postId, frequencies.keySet());
+        lengths.put(postId, length);
+        totalLength += length;
+    }
+
+    public synchronized void remove(Long postId) {
+        removeInternal(postId);
+    }
+
+    public synchronized void clear() {
+        postings.clear();
+        termsByPost.clear();
+        lengths.clear();
+        totalLength = 0;
+    }
+
+    public int size() {
+        return lengths.size();
+    }
+
+    /**
+     * Ranked matches for the query, best first, strictly after the cursor (if any).
+     * A post matches if it contains any of the query terms.
+     */
+    public List<Hit> search(String query, ScoreCursor after, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        int documentCount = Math.max(1, lengths.size());
+        double averageLength = Math.max(1.0, totalLength / documentCount);
+
+        Map<Long, Double> scores = new HashMap<>();
+        int used = 0;
+        for (String term : terms) {
+            if (used++ >= MAX_QUERY_TERMS) {
+                break;
+            }
+            Map<Long, Float> posting = postings.get(term);
+            if (posting == null || posting.isEmpty()) {
+                continue;
+            }
+
+            double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+            for (Map.Entry<Long, Float> entry : posting.entrySet()) {
+                float frequency = entry.getValue();
+                float length = lengths.getOrDefault(entry.getKey(), frequency);
+                double normalized = frequency * (K1 + 1)
+                        / (frequency + K1 * (1 - B + B * length / averageLength));
+                scores.merge(entry.getKey(), idf * normalized, Double::sum);
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            if (after == null || after.isBefore(entry.getValue(), entry.getKey())) {
+                hits.add(new Hit(entry.getKey(), entry.getValue()));
+            }
+        }
+        hits.sort(BEST_FIRST);
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("documents", lengths.size());
+        stats.put("terms", postings.size());
+        return stats;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() >= MIN_TERM_LENGTH && token.length() <= MAX_TERM_LENGTH) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    private void addTerms(Map<String, Float> frequencies, String text, float weight) {
+        for (String term : tokenize(text)) {
+            frequencies.merge(term, weight, Float::sum);
+        }
+    }
+
+    private void removeInternal(Long postId) {
+        Set<String> terms = termsByPost.remove(postId);
+        if (terms != null) {
+            for (String term : terms) {
+                Map<Long, Float> posting = postings.get(term);
+                if (posting != null) {
+                    posting.remove(postId);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+        Float length = lengths.remove(postId);
+        if (length != null) {
+            totalLength -= length;
+        }
+    }
+
+    public static final class Hit {
+        private final Long postId;
+        private final double score;
+
+        public Hit(Long postId, double score) {
+            this.postId = postId;
+            this.score = score;
+        }
+
+        public Long getPostId() {
+            return postId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+}
@@ -1,23 +1,49 @@
 package com.cuet.sphere.service;
 
-import com.cuet.sphere.dto.CommentDTO;
+import com.cuet.sphere.dto.AuthorSummary;
+import com.cuet.sphere.dto.CursorPage;
 import com.cuet.sphere.dto.PostDTO;
 import com.cuet.sphere.model.Post;
 import com.cuet.sphere.model.User;
 import com.cuet.sphere.repository.PostRepository;
 import com.cuet.sphere.repository.SavedPostRepository;
+import com.cuet.sphere.repository.TagFeedEntryRepository;
+import com.cuet.sphere.util.AfterCommit;
+import com.cuet.sphere.util.KeysetCursor;
+import com.cuet.sphere.util.ScoreCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Service
 public class PostService {
+    private static final Logger logger = LoggerFactory.getLogger(PostService.class);
+    
+    private static final int MAX_FEED_SLICE_SIZE = 50;
+    
+    // Posts read per statement while rebuilding the search index
+    private static final int SEARCH_REBUILD_BATCH_SIZE = 500;
+
     @Autowired
     private PostRepository postRepository;
     
@@ -32,9 +58,51 @@ public class PostService {
     
     @Autowired
     private SavedPostRepository savedPostRepository;
+    
+    @Autowired
+    private TagFeedEntryRepository tagFeedEntryRepository;
+    
+    @Autowired
+    private HotFeedCache hotFeedCache;
+    
+    @Autowired
+    private PostJsonCache postJsonCache;
+    
+    @Autowired
+    private AuthorCache authorCache;
+    
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+    
+    @Autowired
+    private PostTagService postTagService;
+    
+    @Autowired
+    private TimelineService timelineService;
+    
+    @Autowired
+    private PostDeletionService postDeletionService;
+    
+    @Autowired
+    private OutboxService outboxService;
 
+    // Also used by the edit endpoint, so route the cache update by whether the post is new.
+    // A new post's admin notifications go through the outbox, committed with the post;
+    // the in-memory caches and the search index only change once that commit succeeded.
+    @Transactional
     public Post createPost(Post post) {
-        return postRepository.save(post);
+        boolean isNew = post.getId() == null;
+        Post saved = postRepository.save(post);
+        if (isNew) {
+            outboxService.recordNewPost(saved);
+            timelineService.fanOut(saved);
+        }
+        if (ImageDerivativeService.isDerivable(saved.getMediaUrl()) && !saved.hasImageDerivatives()) {
+            outboxService.recordImageDerivatives(saved);
+        }
+        postTagService.syncTags(saved);
+        refreshCachedViews(saved, isNew);
+        return saved;
     }
 
     public Optional<Post> getPost(Long id) {
@@ -45,32 +113,335 @@ public class PostService {
         return postRepository.findAll();
     }
     
-    public List<PostDTO> getAllPostsWithUserInfo() {
-        // Use simple query first to avoid 500 errors, then load user data manually
-        List<Post> posts = postRepository.findAllOrderedByDateSimple();
-        return posts.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-    }
-    
     public Page<PostDTO> getAllPostsPaginated(Pageable pageable) {
         return getAllPostsPaginated(pageable, false);
     }
     
     public Page<PostDTO> getAllPostsPaginated(Pageable pageable, boolean includeComments) {
+        return getAllPostsPaginated(pageable, includeComments, null);
+    }
+    
+    public Page<PostDTO> getAllPostsPaginated(Pageable pageable, boolean includeComments, User currentUser) {
+        // First pages of the default newest-first feed are served from the hot feed cache
+        if (!includeComments && isNewestFirst(pageable)) {
+            Optional<List<PostDTO>> cached = getHotFeedRange((int) pageable.getOffset(), pageable.getPageSize());
+            if (cached.isPresent()) {
+                List<PostDTO> dtos = cached.get();
+                applySavedFlags(dtos, currentUser);
+                return new PageImpl<>(dtos, pageable, hotFeedCache.getTotalPosts());
+            }
+        }
+        
         Page<Post> posts;
+        List<PostDTO> dtos;
         
         if (includeComments) {
             // Use query that includes comments
             posts = postRepository.findAllWithUserAndCommentsPaginated(pageable);
-            return posts.map(this::convertToDTO);
+            dtos = posts.getContent().stream()
+                    .map(this::convertToDTO)
+                    .collect(Collectors.toList());
+        } else {
+            // Authors come with the page query, tags in one batch query, counters are columns
+            posts = postRepository.findFeedPageWithUser(pageable);
+            dtos = convertToFeedDTOs(posts.getContent());
+        }
+        
+        applySavedFlags(dtos, currentUser);
+        return new PageImpl<>(dtos, pageable, posts.getTotalElements());
+    }
+    
+    /**
+     * Feed ranked by the time-decayed hot score (see HotScore). Scores are kept up to
+     * date by vote and comment events, so this is a plain index scan on hot_score.
+     */
+    @Transactional(readOnly = true)
+    public Page<PostDTO> getHotPostsPaginated(int page, int size, User currentUser) {
+        Pageable pageable = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, MAX_FEED_SLICE_SIZE)));
+        Page<Post> posts = postRepository.findHotFeedPage(pageable);
+        List<PostDTO> dtos = convertToFeedDTOs(posts.getContent());
+        applySavedFlags(dtos, currentUser);
+        return new PageImpl<>(dtos, pageable, posts.getTotalElements());
+    }
+    
+    /**
+     * Full-text search over title, content and tags, best match first.
+     * Pages with an opaque (score, id) cursor; pass a null or empty cursor for the first page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PostDTO> searchPosts(String query, String cursor, int size, User currentUser) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_FEED_SLICE_SIZE));
+        ScoreCursor after = (cursor == null || cursor.isBlank()) ? null : ScoreCursor.decode(cursor);
+        
+        // One extra hit tells whether another page exists
+        List<PostSearchIndex.Hit> hits = postSearchIndex.search(query, after, limit + 1);
+        boolean hasNext = hits.size() > limit;
+        if (hasNext) {
+            hits = hits.subList(0, limit);
+        }
+        
+        List<Long> ids = hits.stream().map(PostSearchIndex.Hit::getPostId).collect(Collectors.toList());
+        Map<Long, Post> postsById = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Post post : postRepository.findAllWithUserByIdIn(ids)) {
+                postsById.put(post.getId(), post);
+            }
+        }
+        
+        // Keep the ranking order; skip hits whose post was deleted in the meantime
+        List<Post> posts = new ArrayList<>();
+        for (Long id : ids) {
+            Post post = postsById.get(id);
+            if (post != null) {
+                posts.add(post);
+            }
+        }
+        
+        List<PostDTO> dtos = convertToFeedDTOs(posts);
+        applySavedFlags(dtos, currentUser);
+        
+        String nextCursor = null;
+        if (hasNext) {
+            PostSearchIndex.Hit last = hits.get(hits.size() - 1);
+            nextCursor = ScoreCursor.encode(last.getScore(), last.getPostId());
+        }
+        return new CursorPage<>(dtos, nextCursor, hasNext);
+    }
+    
+    /**
+     * Fill the search index from the database once the application has started.
+     * Reads in id order with a bounded batch size so memory use stays flat.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildSearchIndex() {
+        try {
+            long started = System.currentTimeMillis();
+            postSearchIndex.clear();
+            long afterId = 0;
+            while (true) {
+                List<Object[]> rows = postRepository.findSearchDocumentsAfter(
+                    afterId, PageRequest.of(0, SEARCH_REBUILD_BATCH_SIZE));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                
+                List<Long> ids = rows.stream().map(row -> (Long) row[0]).collect(Collectors.toList());
+                Map<Long, List<String>> tagsByPost = findTagsByPostIds(ids);
+                for (Object[] row : rows) {
+                    Long id = (Long) row[0];
+                    postSearchIndex.index(id, (String) row[1], (String) row[2],
+                        tagsByPost.getOrDefault(id, List.of()));
+                }
+                afterId = ids.get(ids.size() - 1);
+            }
+            logger.info("Post search index rebuilt: {} posts in {} ms",
+                postSearchIndex.size(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            logger.error("Error rebuilding post search index: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Cursor-based feed (newest first). Seeks on (createdAt, id) instead of using
+     * OFFSET and skips the COUNT query, so deep pages cost the same as the first one.
+     * Pass a null or empty cursor for the first slice.
+     */
+    public CursorPage<PostDTO> getFeedSlice(String cursor, int size) {
+        return getFeedSlice(cursor, size, null);
+    }
+    
+    public CursorPage<PostDTO> getFeedSlice(String cursor, int size, User currentUser) {
+        int limit = Math.max(1, Math.min(size, MAX_FEED_SLICE_SIZE));
+        // Fetch one extra row to know whether another slice exists
+        Pageable pageable = PageRequest.of(0, limit + 1);
+
+        List<Post> posts;
+        if (cursor == null || cursor.isBlank()) {
+            // Ask for one extra entry so hasNext is known without touching the database
+            Optional<List<PostDTO>> cached = getHotFeedRange(0, limit + 1);
+            if (cached.isPresent()) {
+                return toCursorPage(cached.get(), limit, currentUser);
+            }
+            posts = postRepository.findFeedFirstSlice(pageable);
         } else {
-            // Use query with only user info to avoid N+1 queries
-            posts = postRepository.findAllWithUserOnlyPaginated(pageable);
-            return posts.map(this::convertToDTOWithoutComments);
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            posts = postRepository.findFeedSliceAfter(after.getCreatedAt(), after.getId(), pageable);
         }
+
+        return toPostCursorPage(posts, limit, currentUser);
     }
     
+    /**
+     * Newest-first feed of posts carrying the given tag, read from the tag_feed index.
+     */
+    @Transactional(readOnly = true)
+    public Page<PostDTO> getPostsByTagPaginated(String tag, int page, int size, User currentUser) {
+        Pageable pageable = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, MAX_FEED_SLICE_SIZE)));
+        Page<Post> posts = tagFeedEntryRepository.findTagFeedPage(normalizeTag(tag), pageable);
+        List<PostDTO> dtos = convertToFeedDTOs(posts.getContent());
+        applySavedFlags(dtos, currentUser);
+        return new PageImpl<>(dtos, pageable, posts.getTotalElements());
+    }
+    
+    // Cursor variant of the tag feed; same cursor format as getFeedSlice
+    @Transactional(readOnly = true)
+    public CursorPage<PostDTO> getTagFeedSlice(String tag, String cursor, int size, User currentUser) {
+        int limit = Math.max(1, Math.min(size, MAX_FEED_SLICE_SIZE));
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        String normalizedTag = normalizeTag(tag);
+
+        List<Post> posts;
+        if (cursor == null || cursor.isBlank()) {
+            posts = tagFeedEntryRepository.findTagFeedFirstSlice(normalizedTag, pageable);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            posts = tagFeedEntryRepository.findTagFeedSliceAfter(normalizedTag, after.getCreatedAt(), after.getId(), pageable);
+        }
+        return toPostCursorPage(posts, limit, currentUser);
+    }
+    
+    /**
+     * The reader's timeline: posts from their own department and batch, newest first.
+     * Same cursor format as getFeedSlice.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PostDTO> getTimelineSlice(User reader, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_FEED_SLICE_SIZE));
+        KeysetCursor after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        List<Post> posts = timelineService.readTimeline(reader, after, limit + 1);
+        return toPostCursorPage(posts, limit, reader);
+    }
+    
+    private String normalizeTag(String tag) {
+        if (tag == null || tag.isBlank()) {
+            throw new IllegalArgumentException("Tag must not be empty");
+        }
+        return tag.trim();
+    }
+    
+    // posts holds up to limit + 1 rows; the extra row only signals that another slice exists
+    private CursorPage<PostDTO> toPostCursorPage(List<Post> posts, int limit, User currentUser) {
+        boolean hasNext = posts.size() > limit;
+        if (hasNext) {
+            posts = posts.subList(0, limit);
+        }
+
+        List<PostDTO> dtos = convertToFeedDTOs(posts);
+        applySavedFlags(dtos, currentUser);
+
+        String nextCursor = null;
+        if (hasNext) {
+            Post last = posts.get(posts.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId());
+        }
+
+        return new CursorPage<>(dtos, nextCursor, hasNext);
+    }
+
+    private CursorPage<PostDTO> toCursorPage(List<PostDTO> dtos, int limit, User currentUser) {
+        boolean hasNext = dtos.size() > limit;
+        if (hasNext) {
+            dtos = new ArrayList<>(dtos.subList(0, limit));
+        }
+        applySavedFlags(dtos, currentUser);
+
+        String nextCursor = null;
+        if (hasNext) {
+            PostDTO last = dtos.get(dtos.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(dtos, nextCursor, hasNext);
+    }
+    
+    /**
+     * Read [offset, offset + limit) of the newest-first feed from the hot feed cache.
+     * On a miss the newest posts are loaded into the cache and the range is served
+     * from that load. Ranges beyond the cache capacity are not cached at all.
+     */
+    private Optional<List<PostDTO>> getHotFeedRange(int offset, int limit) {
+        int capacity = hotFeedCache.getCapacity();
+        if (offset + limit > capacity) {
+            return Optional.empty();
+        }
+        
+        Optional<List<PostDTO>> cached = hotFeedCache.getRange(offset, limit);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        
+        long version = hotFeedCache.currentVersion();
+        List<PostDTO> newest = convertToFeedDTOs(postRepository.findFeedFirstSlice(PageRequest.of(0, capacity)));
+        long total = newest.size() < capacity ? newest.size() : postRepository.count();
+        hotFeedCache.load(newest, total, version);
+        
+        int from = Math.min(offset, newest.size());
+        int to = Math.min(offset + limit, newest.size());
+        return Optional.of(new ArrayList<>(newest.subList(from, to)));
+    }
+    
+    private boolean isNewestFirst(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        if (sort.isUnsorted()) {
+            return true;
+        }
+        Sort.Order createdAtOrder = sort.getOrderFor("createdAt");
+        return createdAtOrder != null && createdAtOrder.isDescending() && sort.stream().count() == 1;
+    }
+    
+    /**
+     * Strong ETag for a page of the feed as returned by getAllPostsPaginated without comments.
+     * Built from the page's version columns (updatedAt, counters, author updatedAt), the post
+     * total and the viewer's saved flags, so an unchanged page is recognised without building DTOs.
+     */
+    @Transactional(readOnly = true)
+    public String getFeedETag(Pageable pageable, User currentUser) {
+        List<Object[]> rows = postRepository.findFeedVersionRows(pageable);
+        StringBuilder version = new StringBuilder("feed|")
+                .append(pageable.getPageNumber()).append('|')
+                .append(pageable.getPageSize()).append('|')
+                .append(pageable.getSort()).append('|')
+                .append(postRepository.count());
+        for (Object[] row : rows) {
+            appendVersion(version, row);
+        }
+        
+        if (currentUser != null && currentUser.getId() != null && !rows.isEmpty()) {
+            List<Long> postIds = rows.stream().map(row -> (Long) row[0]).collect(Collectors.toList());
+            Set<Long> savedIds = savedPostRepository.findSavedPostIdsByUserIdAndPostIds(currentUser.getId(), postIds);
+            version.append("|saved").append(new TreeSet<>(savedIds));
+        }
+        return toETag(version);
+    }
+    
+    /**
+     * Strong ETag for getPostWithUserInfo, from a single row of version columns covering the
+     * post, its author and its comment thread; null if the post does not exist
+     */
+    @Transactional(readOnly = true)
+    public String getPostETag(Long id) {
+        List<Object[]> rows = postRepository.findPostVersionRow(id);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        StringBuilder version = new StringBuilder("post|").append(id);
+        appendVersion(version, rows.get(0));
+        return toETag(version);
+    }
+    
+    private static void appendVersion(StringBuilder version, Object[] row) {
+        for (Object value : row) {
+            version.append('|').append(value);
+        }
+    }
+    
+    private static String toETag(CharSequence version) {
+        return "\"" + DigestUtils.md5DigestAsHex(version.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+    
+    @Transactional(readOnly = true)
     public PostDTO getPostWithUserInfo(Long id) {
         Optional<Post> postOpt = postRepository.findById(id);
         if (postOpt.isPresent()) {
@@ -79,33 +450,22 @@ public class PostService {
         return null;
     }
 
+    /**
+     * Tombstone the post so it disappears from every read path right away, and leave the
+     * children, the row itself and the media to PostDeletionWorker.
+     */
     public void deletePost(Long id) {
-        // Get post before deletion to clean up S3 files and saved post records
         Optional<Post> postOpt = postRepository.findById(id);
-        if (postOpt.isPresent()) {
-            Post post = postOpt.get();
-            
-            // Delete media file from S3 if exists
-            if (post.getMediaUrl() != null && !post.getMediaUrl().isEmpty()) {
-                try {
-                    s3Service.deleteFile(post.getMediaUrl());
-                } catch (Exception e) {
-                    // Failed to delete post media from S3, but continue with deletion
-                    // Log this in production for monitoring
-                }
-            }
-            
-            // Clean up saved post records manually since they don't have cascade
-            try {
-                savedPostRepository.deleteByPost(post);
-            } catch (Exception e) {
-                // Failed to delete saved post records, but continue with deletion
-                // This will be handled by database constraints if needed
-            }
+        if (postOpt.isEmpty()) {
+            return;
         }
         
-        // Delete the post (this will cascade delete comments and votes)
-        postRepository.deleteById(id);
+        postDeletionService.tombstone(postOpt.get());
+        AfterCommit.run(() -> {
+            hotFeedCache.onPostDeleted(id);
+            postJsonCache.invalidate(id);
+            postSearchIndex.remove(id);
+        });
     }
 
     public Post updatePost(Post post) {
@@ -127,7 +487,46 @@ public class PostService {
             }
         }
         
-        return postRepository.save(post);
+        Post saved = postRepository.save(post);
+        postTagService.syncTags(saved);
+        refreshCachedViews(saved, false);
+        return saved;
+    }
+    
+    // The DTO and index terms are built now, while the post is attached; they are applied after commit
+    private void refreshCachedViews(Post saved, boolean isNew) {
+        Long id = saved.getId();
+        PostDTO dto = convertToDTOWithoutComments(saved);
+        String title = saved.getTitle();
+        String content = saved.getContent();
+        List<String> tags = saved.getTags() == null ? null : new ArrayList<>(saved.getTags());
+        AfterCommit.run(() -> {
+            if (isNew) {
+                hotFeedCache.onPostCreated(dto);
+            } else {
+                hotFeedCache.onPostUpdated(dto);
+                postJsonCache.invalidate(id);
+            }
+            postSearchIndex.index(id, title, content, tags);
+        });
+    }
+    
+    /**
+     * Attach generated image copies to the post and refresh its cached views.
+     * @return false when the post is gone or no longer shows sourceUrl
+     */
+    @Transactional
+    public boolean applyImageDerivatives(Long postId, String sourceUrl, String thumbnailUrl, String feedImageUrl) {
+        if (postRepository.setImageDerivatives(postId, sourceUrl, thumbnailUrl, feedImageUrl) == 0) {
+            return false;
+        }
+        postRepository.findById(postId).ifPresent(post -> {
+            post.applyImageDerivatives(sourceUrl, thumbnailUrl, feedImageUrl);
+            PostDTO dto = convertToDTOWithoutComments(post);
+            AfterCommit.run(() -> hotFeedCache.onPostUpdated(dto));
+        });
+        AfterCommit.run(() -> postJsonCache.invalidate(postId));
+        return true;
     }
     
     public PostDTO convertToDTO(Post post) {
@@ -136,6 +535,10 @@ public class PostService {
         dto.setTitle(post.getTitle());
         dto.setContent(post.getContent());
         dto.setMediaUrl(post.getMediaUrl());
+        if (post.hasImageDerivatives()) {
+            dto.setThumbnailUrl(post.getThumbnailUrl());
+            dto.setFeedImageUrl(post.getFeedImageUrl());
+        }
         dto.setCreatedAt(post.getCreatedAt());
         dto.setUpdatedAt(post.getUpdatedAt());
         dto.setUserId(post.getUserId());
@@ -150,45 +553,14 @@ public class PostService {
         dto.setTimestamp(post.getCreatedAt());
         dto.setImage(post.getMediaUrl());
         
-        // Set user information from the relationship
-        try {
-            User user = post.getUser();
-            if (user != null) {
-                dto.setAuthor(user.getFullName());
-                dto.setAuthorEmail(user.getEmail());
-                dto.setStudentId(user.getFullStudentId());
-                dto.setProfilePicture(user.getProfilePicture());
-            } else {
-                // Fallback for missing user
-                dto.setAuthor("Unknown User");
-                dto.setAuthorEmail("unknown@example.com");
-                dto.setStudentId("0000000");
-                dto.setProfilePicture(null);
-            }
-        } catch (Exception e) {
-            // Handle any database errors gracefully
-            // Error accessing user for post
-            dto.setAuthor("Unknown User");
-            dto.setAuthorEmail("unknown@example.com");
-            dto.setStudentId("0000000");
-            dto.setProfilePicture(null);
-        }
+        // Set user information through the shared author cache
+        setAuthor(dto, post.getUser());
         
         // Load comments with the post
         try {
             if (post.getComments() != null) {
-                List<CommentDTO> commentDTOs = post.getComments().stream()
-                        .map(comment -> {
-                            try {
-                                return commentService.convertToDTO(comment);
-                            } catch (Exception e) {
-                                // Error converting comment to DTO
-                                return null;
-                            }
-                        })
-                        .filter(commentDTO -> commentDTO != null)
-                        .collect(Collectors.toList());
-                dto.setComments(commentDTOs);
+                // Replies and authors for the whole thread are loaded in batches
+                dto.setComments(commentService.convertToDTOs(post.getComments()));
             } else {
                 dto.setComments(new ArrayList<>());
             }
@@ -215,16 +587,75 @@ public class PostService {
         return dto;
     }
     
+    // List-level variant of convertToDTO(Post, User): saved status costs one query per list
+    public List<PostDTO> convertToDTOs(List<Post> posts, User currentUser) {
+        List<PostDTO> dtos = posts.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        applySavedFlags(dtos, currentUser);
+        return dtos;
+    }
+    
+    /**
+     * Resolve the saved flag for a whole list of posts with a single IN query
+     * instead of one existsByUserAndPost call per post.
+     */
+    public void applySavedFlags(List<PostDTO> dtos, User currentUser) {
+        if (currentUser == null || currentUser.getId() == null || dtos.isEmpty()) {
+            dtos.forEach(dto -> dto.setSaved(false));
+            return;
+        }
+        
+        List<Long> postIds = dtos.stream().map(PostDTO::getId).collect(Collectors.toList());
+        Set<Long> savedIds = savedPostRepository.findSavedPostIdsByUserIdAndPostIds(currentUser.getId(), postIds);
+        dtos.forEach(dto -> dto.setSaved(savedIds.contains(dto.getId())));
+    }
+    
+    /**
+     * Convert a page of posts for the feed with a fixed number of queries.
+     * Authors must already be fetched with the posts; tags for the whole page are
+     * loaded in a single query and vote/comment counts come from counter columns.
+     */
+    public List<PostDTO> convertToFeedDTOs(List<Post> posts) {
+        if (posts.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> postIds = posts.stream().map(Post::getId).collect(Collectors.toList());
+        Map<Long, List<String>> tagsByPostId = findTagsByPostIds(postIds);
+
+        return posts.stream()
+                .map(post -> buildDTOWithoutComments(post, tagsByPostId.getOrDefault(post.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+    
+    // Tags for many posts in one statement, grouped by post id
+    private Map<Long, List<String>> findTagsByPostIds(List<Long> postIds) {
+        Map<Long, List<String>> tagsByPostId = new HashMap<>();
+        for (Object[] row : postRepository.findTagsByPostIds(postIds)) {
+            tagsByPostId.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        return tagsByPostId;
+    }
+    
     public PostDTO convertToDTOWithoutComments(Post post) {
+        return buildDTOWithoutComments(post, post.getTags());
+    }
+    
+    private PostDTO buildDTOWithoutComments(Post post, List<String> tags) {
         PostDTO dto = new PostDTO();
         dto.setId(post.getId());
         dto.setTitle(post.getTitle());
         dto.setContent(post.getContent());
         dto.setMediaUrl(post.getMediaUrl());
+        if (post.hasImageDerivatives()) {
+            dto.setThumbnailUrl(post.getThumbnailUrl());
+            dto.setFeedImageUrl(post.getFeedImageUrl());
+        }
         dto.setCreatedAt(post.getCreatedAt());
         dto.setUpdatedAt(post.getUpdatedAt());
         dto.setUserId(post.getUserId());
-        dto.setTags(post.getTags());
+        dto.setTags(tags);
         
         // Set computed fields
         dto.setUpvotes(post.getUpvotes());
@@ -235,33 +666,27 @@ public class PostService {
         dto.setTimestamp(post.getCreatedAt());
         dto.setImage(post.getMediaUrl());
         
-        // Set user information from the relationship
-        try {
-            User user = post.getUser();
-            if (user != null) {
-                dto.setAuthor(user.getFullName());
-                dto.setAuthorEmail(user.getEmail());
-                dto.setStudentId(user.getFullStudentId());
-                dto.setProfilePicture(user.getProfilePicture());
-            } else {
-                // Fallback for missing user
-                dto.setAuthor("Unknown User");
-                dto.setAuthorEmail("unknown@example.com");
-                dto.setStudentId("0000000");
-                dto.setProfilePicture(null);
-            }
-        } catch (Exception e) {
-            // Handle any database errors gracefully
-            dto.setAuthor("Unknown User");
-            dto.setAuthorEmail("unknown@example.com");
-            dto.setStudentId("0000000");
-            dto.setProfilePicture(null);
-        }
+        // Set user information through the shared author cache
+        setAuthor(dto, post.getUser());
         
         // Don't load comments for feed - they will be loaded separately when needed
         dto.setComments(new ArrayList<>());
         
         return dto;
     }
+    
+    private void setAuthor(PostDTO dto, User user) {
+        AuthorSummary author;
+        try {
+            author = authorCache.get(user);
+        } catch (Exception e) {
+            // Handle any database errors gracefully
+            author = AuthorSummary.UNKNOWN;
+        }
+        dto.setAuthor(author.getFullName());
+        dto.setAuthorEmail(author.getEmail());
+        dto.setStudentId(author.getStudentId());
+        dto.setProfilePicture(author.getProfilePicture());
+    }
 }
 
@@ -0,0 +1,85 @@
+package com.cuet.sphere.service;
+
+import com.cuet.sphere.dto.TagCountDTO;
+import com.cuet.sphere.model.Post;
+import com.cuet.sphere.repository.TagFeedEntryRepository;
+import com.cuet.sphere.repository.TagStatRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Maintains the tag_feed access path and the tag_stats counters from post writes.
+ * Only the tags that were actually added or removed are touched.
+ */
+@Service
+public class PostTagService {
+    private static final int MAX_TRENDING_TAGS = 50;
+
+    @Autowired
+    private TagFeedEntryRepository tagFeedEntryRepository;
+
+    @Autowired
+    private TagStatRepository tagStatRepository;
+
+    // Bring tag_feed/tag_stats in line with the post's current tags (create or edit)
+    @Transactional
+    public void syncTags(Post post) {
+        Set<String> current = normalize(post.getTags());
+        Set<String> previous = new HashSet<>(tagFeedEntryRepository.findTagsByPostId(post.getId()));
+
+        Set<String> removed = new HashSet<>(previous);
+        removed.removeAll(current);
+        if (!removed.isEmpty()) {
+            tagFeedEntryRepository.deleteByPostIdAndTagIn(post.getId(), removed);
+            removed.forEach(tag -> tagStatRepository.adjustPostCount(tag, -1));
+        }
+
+        LocalDateTime createdAt = post.getCreatedAt() != null ? post.getCreatedAt() : LocalDateTime.now();
+        for (String tag : current) {
+            if (previous.contains(tag)) {
+                continue;
+            }
+            tagFeedEntryRepository.insertEntry(tag, post.getId(), createdAt);
+            if (tagStatRepository.adjustPostCount(tag, 1) == 0) {
+                tagStatRepository.insertTagStat(tag, 1);
+            }
+        }
+    }
+
+    // Must run before the post row is deleted (tag_feed references it)
+    @Transactional
+    public void removePost(Long postId) {
+        List<String> tags = tagFeedEntryRepository.findTagsByPostId(postId);
+        if (tags.isEmpty()) {
+            return;
+        }
+        tagFeedEntryRepository.deleteByPostIdAndTagIn(postId, tags);
+        tags.forEach(tag -> tagStatRepository.adjustPostCount(tag, -1));
+    }
+
+    public List<TagCountDTO> getTrendingTags(int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_TRENDING_TAGS));
+        return tagStatRepository.findTopTags(PageRequest.of(0, size));
+    }
+
+    private Set<String> normalize(Collection<String> tags) {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (tags != null) {
+            for (String tag : tags) {
+                if (tag != null && !tag.isBlank()) {
+                    normalized.add(tag.trim());
+                }
+            }
+        }
+        return normalized;
+    }
+}
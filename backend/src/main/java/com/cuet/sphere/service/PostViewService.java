@@ -0,0 +1,58 @@
+package com.cuet.sphere.service;
+
+import com.cuet.sphere.repository.PostViewStatsRepository;
+import com.cuet.sphere.util.HyperLogLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Writes buffered views from ViewCounter into post_view_stats.
+ */
+@Service
+public class PostViewService {
+
+    @Autowired
+    private PostViewStatsRepository postViewStatsRepository;
+
+    /**
+     * One transaction per batch: a single SELECT for the stored sketches, then one
+     * UPDATE (or INSERT for a post's first views) per post. The view count is added in
+     * SQL; the stored sketch is merged with the buffered one and its estimate refreshed.
+     */
+    @Transactional
+    public void applyViews(List<ViewCounter.ViewDelta> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<Long> postIds = batch.stream().map(ViewCounter.ViewDelta::getPostId).collect(Collectors.toList());
+        Map<Long, byte[]> storedSketches = new HashMap<>();
+        for (Object[] row : postViewStatsRepository.findSketches(postIds)) {
+            storedSketches.put((Long) row[0], (byte[]) row[1]);
+        }
+
+        for (ViewCounter.ViewDelta delta : batch) {
+            byte[] stored = storedSketches.get(delta.getPostId());
+            HyperLogLog viewers = HyperLogLog.fromBytes(stored);
+            viewers.merge(delta.getViewers());
+
+            if (stored != null) {
+                postViewStatsRepository.addViews(delta.getPostId(), delta.getViews(), viewers.estimate(), viewers.toBytes());
+            } else {
+                postViewStatsRepository.insertStats(delta.getPostId(), delta.getViews(), viewers.estimate(), viewers.toBytes());
+            }
+        }
+    }
+
+    // Called when the post is deleted; post_view_stats has no foreign key to clean up after it
+    @Transactional
+    public void removePost(Long postId) {
+        postViewStatsRepository.deleteByPostId(postId);
+    }
+}
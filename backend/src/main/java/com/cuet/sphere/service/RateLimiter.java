@@ -0,0 +1,208 @@
+package com.cuet.sphere.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token buckets keyed by an arbitrary string (route + user or route + IP).
+ *
+ * Keys are spread over lock-striped HashMaps so concurrent callers only contend when
+ * they hash to the same stripe, and each check is a few arithmetic operations under
+ * that stripe's lock. Buckets refill lazily on access; the periodic sweep drops every
+ * bucket that has refilled to capacity, since a missing bucket behaves exactly like a
+ * full one. Limits are per instance, not shared between application nodes.
+ */
+@Component
+public class RateLimiter {
+
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+    private final Stripe[] stripes;
+    private final LongSupplier nanoClock;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    @Autowired
+    public RateLimiter(@Value("${ratelimit.stripes:64}") int stripeCount) {
+        this(stripeCount, System::nanoTime);
+    }
+
+    public RateLimiter(int stripeCount, LongSupplier nanoClock) {
+        this.stripes = new Stripe[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Take one token from the bucket for key, creating a full bucket on first use
+     */
+    public Probe tryConsume(String key, int capacity, double refillPerMinute) {
+        return tryConsume(List.of(new Limit(key, capacity, refillPerMinute)));
+    }
+
+    /**
+     * Take one token from every bucket, or from none of them when any is empty, so a
+     * request rejected by one limit does not use up the others.
+     * @return the probe of the first empty bucket, or of the last bucket when all allowed
+     */
+    public Probe tryConsume(List<Limit> limits) {
+        long now = nanoClock.getAsLong();
+        // Lock the stripes in index order so two multi-bucket checks cannot deadlock
+        TreeMap<Integer, Stripe> locked = new TreeMap<>();
+        for (Limit limit : limits) {
+            int index = stripeIndex(limit.key());
+            locked.put(index, stripes[index]);
+        }
+        Probe result = null;
+
+        locked.values().forEach(stripe -> stripe.lock.lock());
+        try {
+            List<Bucket> buckets = new ArrayList<>(limits.size());
+            boolean available = true;
+            for (Limit limit : limits) {
+                Bucket bucket = stripes[stripeIndex(limit.key())].buckets
+                    .computeIfAbsent(limit.key(), key -> new Bucket(limit.capacity(), now));
+                bucket.refill(limit.capacity(), limit.refillPerNano(), now);
+                available &= bucket.tokens >= 1;
+                buckets.add(bucket);
+            }
+            for (int i = 0; i < limits.size(); i++) {
+                Limit limit = limits.get(i);
+                Probe probe = buckets.get(i).settle(limit.capacity(), limit.refillPerNano(), now, available);
+                if (result == null || result.allowed()) {
+                    result = probe;
+                }
+            }
+        } finally {
+            locked.descendingMap().values().forEach(stripe -> stripe.lock.unlock());
+        }
+
+        if (result.allowed()) {
+            allowed.increment();
+        } else {
+            rejected.increment();
+        }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${ratelimit.sweep.interval.ms:60000}")
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                Iterator<Bucket> it = stripe.buckets.values().iterator();
+                while (it.hasNext()) {
+                    if (now - it.next().fullAtNanos >= 0) {
+                        it.remove();
+                        evicted.increment();
+                    }
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        int keys = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                keys += stripe.buckets.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("keys", keys);
+        stats.put("allowed", allowed.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("evicted", evicted.sum());
+        return stats;
+    }
+
+    private int stripeIndex(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return Math.floorMod(h, stripes.length);
+    }
+
+    /**
+     * One bucket to check: its key, size and refill rate
+     */
+    public record Limit(String key, int capacity, double refillPerMinute) {
+        double refillPerNano() {
+            return Math.max(refillPerMinute, 0) / NANOS_PER_MINUTE;
+        }
+    }
+
+    /**
+     * Outcome of one check; the seconds are rounded up
+     */
+    public record Probe(boolean allowed, int limit, int remaining, long resetSeconds, long retryAfterSeconds) {}
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final HashMap<String, Bucket> buckets = new HashMap<>();
+    }
+
+    private static final class Bucket {
+        double tokens;
+        long lastRefillNanos;
+        // When the bucket is back at capacity if left alone; eviction point
+        long fullAtNanos;
+
+        Bucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.lastRefillNanos = now;
+            this.fullAtNanos = now;
+        }
+
+        void refill(int capacity, double refillPerNano, long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+            lastRefillNanos = now;
+        }
+
+        // Spends a token only when spend is set; allowed reports whether this bucket had one
+        Probe settle(int capacity, double refillPerNano, long now, boolean spend) {
+            boolean ok = tokens >= 1;
+            if (ok && spend) {
+                tokens -= 1;
+            }
+
+            long nanosToFull = nanosFor(capacity - tokens, refillPerNano);
+            fullAtNanos = now + nanosToFull;
+            long retryAfter = ok ? 0 : seconds(nanosFor(1 - tokens, refillPerNano));
+            return new Probe(ok, capacity, (int) Math.floor(tokens), seconds(nanosToFull), retryAfter);
+        }
+
+        private static long nanosFor(double tokens, double refillPerNano) {
+            if (tokens <= 0) {
+                return 0;
+            }
+            // A bucket that never refills stays around for a day after its last use
+            return refillPerNano > 0 ? (long) Math.ceil(tokens / refillPerNano) : 24 * 60 * NANOS_PER_MINUTE;
+        }
+
+        private static long seconds(long nanos) {
+            return (nanos + 999_999_999L) / 1_000_000_000L;
+        }
+    }
+}
@@ -1,35 +1,122 @@
 package com.cuet.sphere.service;
 
+import com.cuet.sphere.dto.AuthorSummary;
+import com.cuet.sphere.dto.CursorPage;
 import com.cuet.sphere.dto.ReplyDTO;
 import com.cuet.sphere.model.Reply;
-import com.cuet.sphere.model.User;
+import com.cuet.sphere.repository.CommentRepository;
 import com.cuet.sphere.repository.ReplyRepository;
+import com.cuet.sphere.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class ReplyService {
+    private static final int MAX_REPLY_PAGE_SIZE = 50;
+    
     @Autowired
     private ReplyRepository replyRepository;
     
     @Autowired
-    private UserService userService;
+    private AuthorCache authorCache;
+    
+    @Autowired
+    private CommentRepository commentRepository;
 
     public Optional<Reply> getReply(Long id) {
         return replyRepository.findById(id);
     }
 
+    // Also used for edits; only a newly inserted reply bumps the comment's counter
+    @Transactional
     public Reply createReply(Reply reply) {
-        return replyRepository.save(reply);
+        boolean isNew = reply.getId() == null;
+        Reply saved = replyRepository.save(reply);
+        if (isNew && saved.getComment() != null) {
+            commentRepository.adjustReplyCount(saved.getComment().getId(), 1);
+        }
+        return saved;
     }
 
+    @Transactional
     public void deleteReply(Long id) {
-        replyRepository.deleteById(id);
+        Optional<Reply> replyOpt = replyRepository.findById(id);
+        if (replyOpt.isEmpty()) {
+            return;
+        }
+        Reply reply = replyOpt.get();
+        replyRepository.delete(reply);
+        if (reply.getComment() != null) {
+            commentRepository.adjustReplyCount(reply.getComment().getId(), -1);
+        }
+    }
+    
+    /**
+     * One page of a comment's replies, oldest first. Pass a null or empty cursor for
+     * the first page, then the returned nextCursor.
+     */
+    public CursorPage<ReplyDTO> getReplyPage(Long commentId, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_REPLY_PAGE_SIZE));
+        // Fetch one extra row to know whether another page exists
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        
+        List<Reply> replies;
+        if (cursor == null || cursor.isBlank()) {
+            replies = replyRepository.findRepliesFirstSlice(commentId, pageable);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            replies = replyRepository.findRepliesSliceAfter(commentId, after.getCreatedAt(), after.getId(), pageable);
+        }
+        
+        boolean hasNext = replies.size() > limit;
+        if (hasNext) {
+            replies = replies.subList(0, limit);
+        }
+        
+        List<ReplyDTO> dtos = replies.stream()
+                .map(this::convertToDTOWithFetchedAuthor)
+                .collect(Collectors.toList());
+        
+        String nextCursor = null;
+        if (hasNext) {
+            Reply last = replies.get(replies.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(dtos, nextCursor, hasNext);
     }
     
     public ReplyDTO convertToDTO(Reply reply) {
+        return convertToDTOs(List.of(reply)).get(0);
+    }
+    
+    // Authors of all replies are resolved with at most one user query
+    public List<ReplyDTO> convertToDTOs(List<Reply> replies) {
+        Map<Long, AuthorSummary> authors = authorCache.getAll(
+            replies.stream().map(Reply::getUserId).collect(Collectors.toList()));
+        return convertToDTOs(replies, authors);
+    }
+    
+    // For callers that already resolved the authors (e.g. together with the comment authors)
+    public List<ReplyDTO> convertToDTOs(List<Reply> replies, Map<Long, AuthorSummary> authors) {
+        return replies.stream()
+                .map(reply -> buildDTO(reply, authors.getOrDefault(reply.getUserId(), AuthorSummary.UNKNOWN)))
+                .collect(Collectors.toList());
+    }
+    
+    // For replies loaded with JOIN FETCH r.user; skips the per-reply user lookup
+    public ReplyDTO convertToDTOWithFetchedAuthor(Reply reply) {
+        return buildDTO(reply, authorCache.get(reply.getUser()));
+    }
+    
+    private ReplyDTO buildDTO(Reply reply, AuthorSummary author) {
         ReplyDTO dto = new ReplyDTO();
         dto.setId(reply.getId());
         dto.setText(reply.getText());
@@ -37,21 +124,11 @@ public class ReplyService {
         dto.setUpdatedAt(reply.getUpdatedAt());
         dto.setUserId(reply.getUserId());
         
-        // Get user information
-        Optional<User> userOpt = userService.getUserById(reply.getUserId());
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            dto.setAuthor(user.getFullName());
-            dto.setAuthorEmail(user.getEmail());
-            dto.setStudentId(user.getFullStudentId());
-            dto.setProfilePicture(user.getProfilePicture());
-        } else {
-            // Fallback values if user not found
-            dto.setAuthor("Unknown User");
-            dto.setAuthorEmail("unknown@example.com");
-            dto.setStudentId("0000000");
-            dto.setProfilePicture(null);
-        }
+        // Author details; AuthorSummary.UNKNOWN when the user was not found
+        dto.setAuthor(author.getFullName());
+        dto.setAuthorEmail(author.getEmail());
+        dto.setStudentId(author.getStudentId());
+        dto.setProfilePicture(author.getProfilePicture());
         
         return dto;
     }
@@ -1,5 +1,6 @@
 package com.cuet.sphere.service;
 
+import com.cuet.sphere.dto.AuthorSummary;
 import com.cuet.sphere.model.*;
 import com.cuet.sphere.repository.*;
 import com.cuet.sphere.response.ResourceRequest;
@@ -10,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -38,6 +40,9 @@ public class ResourceService {
     @Autowired
     private S3Service s3Service;
     
+    @Autowired
+    private AuthorCache authorCache;
+    
     private static final Logger logger = LoggerFactory.getLogger(ResourceService.class);
 
     public ResourceResponse createResource(ResourceRequest resourceRequest, User uploader) throws UserException {
@@ -218,53 +223,64 @@ public class ResourceService {
         resourceRepository.delete(resource);
     }
     
+    @Transactional(readOnly = true)
     public List<ResourceResponse> getResourcesByUser(User user) {
         // Convert department code to name for repository query
         String deptName = getDepartmentNameByCode(user.getDepartment());
         List<Resource> resources = resourceRepository.findByBatchAndDepartment(user.getBatch(), deptName);
+        prefetchUploaders(resources);
         return resources.stream()
             .map(this::convertToResponse)
             .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<ResourceResponse> getResourcesByUserAndCourse(User user, String courseCode) {
         // Convert department code to name for repository query
         String deptName = getDepartmentNameByCode(user.getDepartment());
         List<Resource> resources = resourceRepository.findByBatchAndDepartmentAndCourse(user.getBatch(), deptName, courseCode);
+        prefetchUploaders(resources);
         return resources.stream()
             .map(this::convertToResponse)
             .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<ResourceResponse> getResourcesByUserAndCourseAndSemester(User user, String courseCode, String semester) {
         // Convert department code to name for repository query
         String deptName = getDepartmentNameByCode(user.getDepartment());
         List<Resource> resources = resourceRepository.findByBatchAndDepartmentAndCourseAndSemester(user.getBatch(), deptName, courseCode, semester);
+        prefetchUploaders(resources);
         return resources.stream()
             .map(this::convertToResponse)
             .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<ResourceResponse> getResourcesByUserAndType(User user, Resource.ResourceType resourceType) {
         // Convert department code to name for repository query
         String deptName = getDepartmentNameByCode(user.getDepartment());
         List<Resource> resources = resourceRepository.findByBatchAndDepartmentAndResourceType(user.getBatch(), deptName, resourceType);
+        prefetchUploaders(resources);
         return resources.stream()
             .map(this::convertToResponse)
             .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<ResourceResponse> getResourcesByUploader(User uploader) throws UserException {
         if (!uploader.isCR()) {
             throw new UserException("Only CR users can view their uploaded resources");
         }
         
         List<Resource> resources = resourceRepository.findByUploaderId(uploader.getId());
+        prefetchUploaders(resources);
         return resources.stream()
             .map(this::convertToResponse)
             .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public ResourceResponse getResourceById(Long resourceId, User user) throws UserException {
         Resource resource = resourceRepository.findById(resourceId)
             .orElseThrow(() -> new UserException("Resource not found"));
@@ -278,15 +294,25 @@ public class ResourceService {
         return convertToResponse(resource);
     }
     
+    @Transactional(readOnly = true)
     public List<ResourceResponse> searchResources(User user, String searchTerm) {
         // Convert department code to name for repository query
         String deptName = getDepartmentNameByCode(user.getDepartment());
         List<Resource> resources = resourceRepository.searchByTitle(user.getBatch(), deptName, searchTerm);
+        prefetchUploaders(resources);
         return resources.stream()
             .map(this::convertToResponse)
             .collect(Collectors.toList());
     }
     
+    // Load all uncached uploaders of a list in one query instead of one lazy load per resource
+    private void prefetchUploaders(List<Resource> resources) {
+        authorCache.getAll(resources.stream()
+            .filter(resource -> resource.getUploader() != null)
+            .map(resource -> resource.getUploader().getId())
+            .collect(Collectors.toList()));
+    }
+    
     private ResourceResponse convertToResponse(Resource resource) {
         ResourceResponse response = new ResourceResponse();
         response.setResourceId(resource.getResourceId());
@@ -333,19 +359,12 @@ public class ResourceService {
         response.setIsFolder(fileResponses.size() > 1);
         
         // Uploader information
-        User uploader = resource.getUploader();
-        if (uploader != null) {
-            response.setUploaderName(uploader.getFullName());
-            response.setUploaderEmail(uploader.getEmail());
-            response.setUploaderStudentId(uploader.getFullStudentId());
-            response.setUploaderProfilePicture(uploader.getProfilePicture());
-        } else {
-            // Fallback for missing uploader
-            response.setUploaderName("Unknown User");
-            response.setUploaderEmail("unknown@example.com");
-            response.setUploaderStudentId("0000000");
-            response.setUploaderProfilePicture(null);
-        }
+        // AuthorSummary.UNKNOWN stands in for a missing uploader
+        AuthorSummary uploader = authorCache.get(resource.getUploader());
+        response.setUploaderName(uploader.getFullName());
+        response.setUploaderEmail(uploader.getEmail());
+        response.setUploaderStudentId(uploader.getStudentId());
+        response.setUploaderProfilePicture(uploader.getProfilePicture());
         
         // Course information
         if (resource.getCourse() != null) {
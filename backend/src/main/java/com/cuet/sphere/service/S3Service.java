@@ -193,6 +193,18 @@ public class S3Service {
     }
 
     public void deleteFile(String fileUrl) {
+        try {
+            deleteFileOrThrow(fileUrl);
+        } catch (Exception e) {
+            // Error deleting file from S3 or local storage
+        }
+    }
+    
+    /**
+     * Same as deleteFile, but failures propagate so the caller can retry.
+     * A file that is already gone counts as deleted.
+     */
+    public void deleteFileOrThrow(String fileUrl) throws IOException {
         if (fileUrl == null || fileUrl.isEmpty()) {
             return;
         }
@@ -201,29 +213,72 @@ public class S3Service {
         if (bucketUrl != null && fileUrl.startsWith(bucketUrl)) {
             String key = fileUrl.substring(bucketUrl.length() + 1); // Remove the bucket URL and leading slash
             
-            try {
-                if (s3Client != null) {
-                    s3Client.deleteObject(builder -> builder
-                            .bucket(bucketName)
-                            .key(key)
-                            .build());
-                    // File deleted from S3
-                }
-            } catch (Exception e) {
-                // Error deleting file from S3
+            if (s3Client != null) {
+                s3Client.deleteObject(builder -> builder
+                        .bucket(bucketName)
+                        .key(key)
+                        .build());
+                // File deleted from S3
             }
         }
         // Check if it's a local storage URL
         else if (localStorageUrl != null && fileUrl.startsWith(localStorageUrl)) {
             String relativePath = fileUrl.substring(localStorageUrl.length() + 1);
             Path filePath = Paths.get(localStoragePath, relativePath);
-            
-            try {
-                Files.deleteIfExists(filePath);
-                // File deleted from local storage
-            } catch (Exception e) {
-                // Error deleting file from local storage
+            Files.deleteIfExists(filePath);
+            // File deleted from local storage
+        }
+    }
+    
+    /**
+     * Contents of a file stored by this service, or null for a URL it does not manage
+     */
+    public byte[] readFile(String fileUrl) throws IOException {
+        if (fileUrl == null || fileUrl.isEmpty()) {
+            return null;
+        }
+        
+        if (bucketUrl != null && !bucketUrl.isEmpty() && fileUrl.startsWith(bucketUrl + "/")) {
+            if (s3Client == null) {
+                throw new IOException("S3 is not configured, cannot read " + fileUrl);
             }
+            String key = fileUrl.substring(bucketUrl.length() + 1);
+            return s3Client.getObjectAsBytes(builder -> builder
+                    .bucket(bucketName)
+                    .key(key)
+                    .build()).asByteArray();
+        }
+        else if (localStorageUrl != null && fileUrl.startsWith(localStorageUrl + "/")) {
+            Path filePath = Paths.get(localStoragePath, fileUrl.substring(localStorageUrl.length() + 1));
+            return Files.readAllBytes(filePath);
+        }
+        return null;
+    }
+    
+    /**
+     * Store generated content (e.g. a resized image) at a URL in the same storage as an
+     * uploaded file. Such files are never modified in place, so S3 serves them as immutable.
+     */
+    public void uploadDerivedFile(String fileUrl, byte[] data, String contentType) throws IOException {
+        if (bucketUrl != null && !bucketUrl.isEmpty() && fileUrl.startsWith(bucketUrl + "/")) {
+            if (s3Client == null) {
+                throw new IOException("S3 is not configured, cannot write " + fileUrl);
+            }
+            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(fileUrl.substring(bucketUrl.length() + 1))
+                    .contentType(contentType)
+                    .cacheControl("public, max-age=31536000, immutable")
+                    .build();
+            s3Client.putObject(putObjectRequest, RequestBody.fromBytes(data));
+        }
+        else if (localStorageUrl != null && fileUrl.startsWith(localStorageUrl + "/")) {
+            Path filePath = Paths.get(localStoragePath, fileUrl.substring(localStorageUrl.length() + 1));
+            Files.createDirectories(filePath.getParent());
+            Files.write(filePath, data);
+        }
+        else {
+            throw new IOException("Not a storage URL: " + fileUrl);
         }
     }
     
@@ -0,0 +1,106 @@
+package com.cuet.sphere.service;
+
+import com.cuet.sphere.model.Post;
+import com.cuet.sphere.model.User;
+import com.cuet.sphere.repository.GroupTimelineEntryRepository;
+import com.cuet.sphere.repository.TimelineEntryRepository;
+import com.cuet.sphere.repository.UserRepository;
+import com.cuet.sphere.util.KeysetCursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Per-user timelines of posts from the reader's own department and batch.
+ *
+ * A new post is fanned out on write: for a group of at most timeline.fanout.max-group-size
+ * members one INSERT ... SELECT adds it to every member's timeline_entry rows. Posts of
+ * larger groups get a single group_timeline row instead and are merged into each member's
+ * timeline at read time. Either way a read is one range scan per source, and each post
+ * lives in exactly one of the two places, so the merge never sees duplicates.
+ */
+@Service
+public class TimelineService {
+
+    private static final Comparator<Post> NEWEST_FIRST = Comparator
+            .comparing(Post::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Post::getId, Comparator.reverseOrder());
+
+    @Autowired
+    private TimelineEntryRepository timelineEntryRepository;
+
+    @Autowired
+    private GroupTimelineEntryRepository groupTimelineEntryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${timeline.fanout.max-group-size:500}")
+    private int maxFanOutGroupSize;
+
+    // Called once for a newly created post
+    @Transactional
+    public void fanOut(Post post) {
+        User author = post.getUser();
+        if (author == null || author.getDepartment() == null || author.getBatch() == null) {
+            return;
+        }
+
+        String department = author.getDepartment();
+        String batch = author.getBatch();
+        LocalDateTime createdAt = post.getCreatedAt() != null ? post.getCreatedAt() : LocalDateTime.now();
+
+        if (userRepository.countByDepartmentAndBatch(department, batch) <= maxFanOutGroupSize) {
+            timelineEntryRepository.fanOut(post.getId(), createdAt, department, batch);
+        } else {
+            groupTimelineEntryRepository.insertEntry(post.getId(), createdAt, department, batch);
+        }
+    }
+
+    // Must run before the post row is deleted (both tables reference it)
+    @Transactional
+    public void removePost(Long postId) {
+        timelineEntryRepository.deleteByPostId(postId);
+        groupTimelineEntryRepository.deleteByPostId(postId);
+    }
+
+    // Must run before the user row is deleted
+    @Transactional
+    public void removeUser(Long userId) {
+        timelineEntryRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * Up to limit posts of the reader's timeline, newest first, strictly after the cursor
+     * (if any). Authors are fetched with the posts.
+     */
+    public List<Post> readTimeline(User reader, KeysetCursor after, int limit) {
+        Pageable pageable = PageRequest.of(0, limit);
+        List<Post> posts = new ArrayList<>(after == null
+                ? timelineEntryRepository.findTimelineFirstSlice(reader.getId(), pageable)
+                : timelineEntryRepository.findTimelineSliceAfter(
+                    reader.getId(), after.getCreatedAt(), after.getId(), pageable));
+
+        if (reader.getDepartment() != null && reader.getBatch() != null) {
+            List<Post> groupPosts = after == null
+                    ? groupTimelineEntryRepository.findGroupTimelineFirstSlice(
+                        reader.getDepartment(), reader.getBatch(), pageable)
+                    : groupTimelineEntryRepository.findGroupTimelineSliceAfter(
+                        reader.getDepartment(), reader.getBatch(), after.getCreatedAt(), after.getId(), pageable);
+            if (!groupPosts.isEmpty()) {
+                posts.addAll(groupPosts);
+                posts.sort(NEWEST_FIRST);
+            }
+        }
+
+        return posts.size() > limit ? new ArrayList<>(posts.subList(0, limit)) : posts;
+    }
+}
@@ -14,6 +14,12 @@ public class UserService {
     
     @Autowired
     private S3Service s3Service;
+    
+    @Autowired
+    private TimelineService timelineService;
+    
+    @Autowired
+    private AuthorCache authorCache;
 
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
@@ -56,7 +62,9 @@ public class UserService {
             }
         }
         
+        timelineService.removeUser(id);
         userRepository.deleteById(id);
+        authorCache.evict(id);
     }
     
     public User updateProfilePicture(User user, String newProfilePictureUrl) {
@@ -83,7 +91,9 @@ public class UserService {
         // Update ONLY the profile picture field, preserve everything else
         freshUser.setProfilePicture(newProfilePictureUrl.trim());
         
-        return userRepository.save(freshUser);
+        User saved = userRepository.save(freshUser);
+        authorCache.evict(saved.getId());
+        return saved;
     }
     
     public User updateBackgroundImage(User user, String newBackgroundImageUrl) {
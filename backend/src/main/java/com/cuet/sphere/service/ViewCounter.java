@@ -0,0 +1,189 @@
+package com.cuet.sphere.service;
+
+import com.cuet.sphere.model.PostViewStats;
+import com.cuet.sphere.repository.PostRepository;
+import com.cuet.sphere.repository.PostViewStatsRepository;
+import com.cuet.sphere.util.HyperLogLog;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory view counters in front of post_view_stats.
+ *
+ * A view only bumps a striped LongAdder and offers the viewer to a per-post HyperLogLog,
+ * so concurrent views of a hot post neither lock a row nor contend on one counter. A
+ * scheduled flush hands the accumulated counts and sketches to PostViewService in
+ * batched transactions. The counts are approximate by design: a view racing with the
+ * flush that drops an idle post's counter, or with a sketch swap, may be missed.
+ */
+@Component
+public class ViewCounter {
+    private static final Logger logger = LoggerFactory.getLogger(ViewCounter.class);
+
+    @Autowired
+    private PostViewService postViewService;
+
+    @Autowired
+    private PostViewStatsRepository postViewStatsRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    private final int batchSize;
+    private final int maxPendingPosts;
+
+    // postId -> views and viewers since the last flush
+    private final ConcurrentHashMap<Long, PendingViews> pending = new ConcurrentHashMap<>();
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    public ViewCounter(@Value("${views.flush.batch.size:200}") int batchSize,
+                       @Value("${views.buffer.max-posts:10000}") int maxPendingPosts) {
+        this.batchSize = Math.max(1, batchSize);
+        this.maxPendingPosts = Math.max(1, maxPendingPosts);
+    }
+
+    /**
+     * Count one view of the post by the given viewer (any stable identifier).
+     * The post is looked up once per flush interval, when its first view arrives.
+     * @return false when the post does not exist (or is deleted) and nothing was counted
+     */
+    public boolean recordView(Long postId, String viewerKey) {
+        PendingViews entry = pending.get(postId);
+        if (entry == null) {
+            if (!postRepository.existsById(postId)) {
+                return false;
+            }
+            // Bound memory for the posts viewed within one interval
+            if (pending.size() >= maxPendingPosts) {
+                dropped.increment();
+                return true;
+            }
+            entry = pending.computeIfAbsent(postId, id -> new PendingViews());
+        }
+        entry.views.increment();
+        entry.viewers.offer(viewerKey);
+        recorded.increment();
+        return true;
+    }
+
+    /**
+     * Persisted counters plus the views not flushed yet
+     */
+    public Map<String, Object> getViewStats(Long postId) {
+        PostViewStats stored = postViewStatsRepository.findById(postId).orElse(null);
+        long views = stored != null ? stored.getViewCount() : 0;
+        HyperLogLog viewers = HyperLogLog.fromBytes(stored != null ? stored.getViewerSketch() : null);
+
+        PendingViews entry = pending.get(postId);
+        if (entry != null) {
+            views += entry.views.sum();
+            viewers.merge(entry.viewers);
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("postId", postId);
+        stats.put("views", views);
+        stats.put("uniqueViewers", viewers.estimate());
+        return stats;
+    }
+
+    @Scheduled(fixedDelayString = "${views.flush.interval.ms:5000}")
+    public void flush() {
+        List<ViewDelta> batch = new ArrayList<>(batchSize);
+        for (Map.Entry<Long, PendingViews> mapEntry : pending.entrySet()) {
+            PendingViews entry = mapEntry.getValue();
+            long views = entry.views.sumThenReset();
+            if (views == 0) {
+                // Idle for a whole interval
+                pending.remove(mapEntry.getKey(), entry);
+                continue;
+            }
+            batch.add(new ViewDelta(mapEntry.getKey(), views, entry.swapViewers()));
+            if (batch.size() >= batchSize) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("pendingPosts", pending.size());
+        stats.put("recorded", recorded.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("written", written.sum());
+        return stats;
+    }
+
+    private void writeBatch(List<ViewDelta> batch) {
+        try {
+            postViewService.applyViews(batch);
+            written.add(batch.size());
+        } catch (Exception e) {
+            logger.warn("View batch of {} failed, retrying one by one: {}", batch.size(), e.getMessage());
+            for (ViewDelta delta : batch) {
+                try {
+                    postViewService.applyViews(List.of(delta));
+                    written.increment();
+                } catch (Exception entryError) {
+                    logger.error("Dropping {} views of post {}: {}",
+                        delta.views, delta.postId, entryError.getMessage());
+                }
+            }
+        }
+    }
+
+    private static final class PendingViews {
+        private final LongAdder views = new LongAdder();
+        private volatile HyperLogLog viewers = new HyperLogLog();
+
+        // Only called by the flushing thread
+        private HyperLogLog swapViewers() {
+            HyperLogLog flushed = viewers;
+            viewers = new HyperLogLog();
+            return flushed;
+        }
+    }
+
+    /**
+     * Views of one post since the previous flush, with the sketch of who viewed it
+     */
+    public static final class ViewDelta {
+        private final Long postId;
+        private final long views;
+        private final HyperLogLog viewers;
+
+        ViewDelta(Long postId, long views, HyperLogLog viewers) {
+            this.postId = postId;
+            this.views = views;
+            this.viewers = viewers;
+        }
+
+        public Long getPostId() { return postId; }
+        public long getViews() { return views; }
+        public HyperLogLog getViewers() { return viewers; }
+    }
+}
@@ -0,0 +1,273 @@
+package com.cuet.sphere.service;
+
+import com.cuet.sphere.model.Vote;
+import com.cuet.sphere.repository.VoteRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Write-behind buffer in front of the vote table.
+ *
+ * A vote click only records the user's desired state for (post, user) in memory and
+ * returns the projected counts straight away. Rapid toggles from the same user collapse
+ * into a single pending entry, and a scheduled flush writes the net changes in batched
+ * transactions through VoteService.applyVotes, which upserts each entry on (post, user),
+ * so replaying an entry changes nothing. Entries that net out to "no change" never
+ * reach the database.
+ */
+@Component
+public class VoteBuffer {
+    private static final Logger logger = LoggerFactory.getLogger(VoteBuffer.class);
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    private final int batchSize;
+
+    // Clicks not yet picked up by a flush
+    private final ConcurrentHashMap<VoteKey, PendingVote> pending = new ConcurrentHashMap<>();
+    // Entries taken by the running flush but not committed yet; still the source of truth for toggles
+    private final ConcurrentHashMap<VoteKey, PendingVote> inFlight = new ConcurrentHashMap<>();
+    // postId -> {upvoteDelta, downvoteDelta} not yet reflected in the post counters
+    private final ConcurrentHashMap<Long, int[]> projectedDeltas = new ConcurrentHashMap<>();
+
+    // Bumped once a batch is written (or given up on), before its entries leave inFlight
+    private final AtomicLong completedBatches = new AtomicLong();
+
+    private final LongAdder clicks = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    public VoteBuffer(@Value("${votes.buffer.batch.size:200}") int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Apply a click: the same vote type again removes the vote, anything else sets it.
+     * @return the user's vote after the click (null when removed)
+     */
+    public Boolean toggle(Long postId, Long userId, boolean upvote) {
+        return update(postId, userId, before -> Boolean.valueOf(upvote).equals(before) ? null : upvote);
+    }
+
+    /**
+     * Remove the user's vote. Goes through the buffer like a click, so a pending click for
+     * the same post cannot be flushed afterwards and bring the vote back.
+     */
+    public void remove(Long postId, Long userId) {
+        update(postId, userId, before -> null);
+    }
+
+    private Boolean update(Long postId, Long userId, UnaryOperator<Boolean> change) {
+        VoteKey key = new VoteKey(postId, userId);
+        Boolean[] result = new Boolean[1];
+
+        // A flush may take the entry between startEntry and the update; then start a new one
+        while (pending.computeIfPresent(key, (k, entry) -> {
+            Boolean before = entry.desired;
+            Boolean after = change.apply(before);
+            entry.desired = after;
+            addProjectedDelta(postId, before, after);
+            result[0] = after;
+            return entry;
+        }) == null) {
+            startEntry(key);
+        }
+
+        clicks.increment();
+        return result[0];
+    }
+
+    /**
+     * The user's vote including unflushed clicks, or empty if nothing is pending
+     * (the caller then falls back to the vote table)
+     */
+    public Optional<PendingVote> getPendingVote(Long postId, Long userId) {
+        VoteKey key = new VoteKey(postId, userId);
+        PendingVote entry = pending.get(key);
+        if (entry == null) {
+            entry = inFlight.get(key);
+        }
+        return Optional.ofNullable(entry);
+    }
+
+    // Counter deltas from unflushed clicks, to add to the post's persisted counters
+    public int[] getProjectedDelta(Long postId) {
+        int[] delta = projectedDeltas.get(postId);
+        return delta != null ? delta.clone() : new int[] {0, 0};
+    }
+
+    @Scheduled(fixedDelayString = "${votes.buffer.flush.interval.ms:500}")
+    public void flush() {
+        List<PendingVote> batch = new ArrayList<>(batchSize);
+        for (VoteKey key : pending.keySet()) {
+            // Move atomically from pending to in-flight so a concurrent toggle starts a new entry
+            pending.computeIfPresent(key, (k, entry) -> {
+                inFlight.put(k, entry);
+                batch.add(entry);
+                return null;
+            });
+            if (batch.size() >= batchSize) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("pending", pending.size());
+        stats.put("clicks", clicks.sum());
+        stats.put("written", written.sum());
+        return stats;
+    }
+
+    private void writeBatch(List<PendingVote> batch) {
+        List<PendingVote> changed = new ArrayList<>(batch.size());
+        for (PendingVote entry : batch) {
+            if (entry.isChanged()) {
+                changed.add(entry);
+            }
+        }
+
+        try {
+            voteService.applyVotes(changed);
+            written.add(changed.size());
+        } catch (Exception e) {
+            // One bad entry (e.g. a vote on a deleted post) rolls back the batch;
+            // cached counters only move after commit, so they need no repair
+            logger.warn("Vote batch of {} failed, retrying one by one: {}", changed.size(), e.getMessage());
+            for (PendingVote entry : changed) {
+                try {
+                    voteService.applyVotes(List.of(entry));
+                    written.increment();
+                } catch (Exception entryError) {
+                    logger.error("Dropping vote of user {} on post {}: {}",
+                        entry.userId, entry.postId, entryError.getMessage());
+                }
+            }
+        } finally {
+            completedBatches.incrementAndGet();
+            for (PendingVote entry : batch) {
+                VoteKey key = new VoteKey(entry.postId, entry.userId);
+                // Counters now hold (or have given up on) this entry; stop projecting it
+                addProjectedDelta(entry.postId, entry.desired, entry.base);
+                inFlight.remove(key, entry);
+            }
+        }
+    }
+
+    /**
+     * Install a pending entry for the key unless another click already did. The vote table
+     * is read outside the map's lock so a slow query never blocks other keys; if a batch
+     * committed meanwhile the read may predate it, so nothing is installed and the caller
+     * tries again.
+     */
+    private void startEntry(VoteKey key) {
+        long batchesBefore = completedBatches.get();
+        Boolean stored = null;
+        if (!inFlight.containsKey(key)) {
+            Vote vote = voteRepository.findByPost_IdAndUserId(key.postId, key.userId);
+            stored = vote != null ? vote.getUpvote() : null;
+        }
+        Boolean storedState = stored;
+        pending.computeIfAbsent(key, k -> {
+            // An entry being written is the source of truth until it leaves inFlight
+            PendingVote flushing = inFlight.get(k);
+            if (flushing != null) {
+                return new PendingVote(k.postId, k.userId, flushing.desired);
+            }
+            return completedBatches.get() == batchesBefore ? new PendingVote(k.postId, k.userId, storedState) : null;
+        });
+    }
+
+    private void addProjectedDelta(Long postId, Boolean before, Boolean after) {
+        int up = contribution(after, true) - contribution(before, true);
+        int down = contribution(after, false) - contribution(before, false);
+        if (up == 0 && down == 0) {
+            return;
+        }
+        projectedDeltas.merge(postId, new int[] {up, down}, (a, b) -> {
+            int[] sum = {a[0] + b[0], a[1] + b[1]};
+            return sum[0] == 0 && sum[1] == 0 ? null : sum;
+        });
+    }
+
+    private static int contribution(Boolean vote, boolean upvote) {
+        return vote != null && vote == upvote ? 1 : 0;
+    }
+
+    /**
+     * Net state of one user's vote on one post: what the table held when the entry was
+     * started (base) and what the user wants now (desired); null means "no vote".
+     */
+    public static final class PendingVote {
+        private final Long postId;
+        private final Long userId;
+        private final Boolean base;
+        private volatile Boolean desired;
+
+        PendingVote(Long postId, Long userId, Boolean base) {
+            this.postId = postId;
+            this.userId = userId;
+            this.base = base;
+            this.desired = base;
+        }
+
+        public Long getPostId() { return postId; }
+        public Long getUserId() { return userId; }
+        public Boolean getDesired() { return desired; }
+
+        boolean isChanged() {
+            return desired == null ? base != null : !desired.equals(base);
+        }
+    }
+
+    private static final class VoteKey {
+        private final Long postId;
+        private final Long userId;
+
+        private VoteKey(Long postId, Long userId) {
+            this.postId = postId;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof VoteKey)) return false;
+            VoteKey other = (VoteKey) o;
+            return postId.equals(other.postId) && userId.equals(other.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * postId.hashCode() + userId.hashCode();
+        }
+    }
+}
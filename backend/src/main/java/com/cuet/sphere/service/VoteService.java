@@ -1,37 +1,191 @@
 package com.cuet.sphere.service;
 
 import com.cuet.sphere.model.Vote;
+import com.cuet.sphere.repository.PostRepository;
 import com.cuet.sphere.repository.VoteRepository;
+import com.cuet.sphere.util.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class VoteService {
+    private static final Logger logger = LoggerFactory.getLogger(VoteService.class);
+
+    // Number of post ids recomputed per reconciliation statement
+    private static final long RECONCILE_BATCH_SIZE = 500;
+
+    // Keyed on the (post_id, user_id) unique constraint; created_at is kept on update
+    private static final String MYSQL_UPSERT_SQL = """
+        INSERT INTO vote (post_id, user_id, upvote, created_at, updated_at) VALUES (?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE upvote = VALUES(upvote), updated_at = VALUES(updated_at)
+        """;
+
+    // Standard SQL MERGE for the other databases (H2 in tests)
+    private static final String MERGE_UPSERT_SQL = """
+        MERGE INTO vote v
+        USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BOOLEAN), CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP)))
+            AS s (post_id, user_id, upvote, created_at, updated_at)
+        ON v.post_id = s.post_id AND v.user_id = s.user_id
+        WHEN MATCHED THEN UPDATE SET upvote = s.upvote, updated_at = s.updated_at
+        WHEN NOT MATCHED THEN INSERT (post_id, user_id, upvote, created_at, updated_at)
+            VALUES (s.post_id, s.user_id, s.upvote, s.created_at, s.updated_at)
+        """;
+
+    private static final String DELETE_SQL = "DELETE FROM vote WHERE post_id = ? AND user_id = ?";
+
     @Autowired
     private VoteRepository voteRepository;
 
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private HotFeedCache hotFeedCache;
+
+    @Autowired
+    private PostJsonCache postJsonCache;
+
+    @Autowired
+    private PostRankingService postRankingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Picked from the connected database on first use
+    private volatile String upsertSql;
+
     public Optional<Vote> getVote(Long id) {
         return voteRepository.findById(id);
     }
 
-    public Vote createVote(Vote vote) {
-        return voteRepository.save(vote);
+    // Insert a new vote and bump the matching post counter in the same transaction
+    @Transactional
+    public Vote addVote(Vote vote) {
+        Vote saved = voteRepository.save(vote);
+        adjustCounters(saved.getPost().getId(), saved.getUpvote(), 1);
+        return saved;
     }
 
-    public void deleteVote(Long id) {
-        voteRepository.deleteById(id);
+    // Flip an existing vote between UPVOTE and DOWNVOTE
+    @Transactional
+    public Vote changeVoteType(Vote existingVote, String voteType) {
+        Boolean previous = existingVote.getUpvote();
+        existingVote.setVoteType(voteType);
+        existingVote.setUpdatedAt(LocalDateTime.now());
+        Vote saved = voteRepository.save(existingVote);
+
+        if (previous != null && !previous.equals(saved.getUpvote())) {
+            adjustCounters(saved.getPost().getId(), previous, -1);
+            adjustCounters(saved.getPost().getId(), saved.getUpvote(), 1);
+        }
+        return saved;
+    }
+
+    @Transactional
+    public void removeVote(Vote vote) {
+        voteRepository.delete(vote);
+        adjustCounters(vote.getPost().getId(), vote.getUpvote(), -1);
+    }
+
+    /**
+     * Write the net vote state of a batch of users in one transaction (used by VoteBuffer).
+     * Votes are written as one JDBC batch of upserts keyed on (post_id, user_id) plus one
+     * of deletes, so a row another writer inserted meanwhile is updated rather than
+     * failing the batch, and replaying a batch changes nothing. The touched posts'
+     * counters are then recounted from the table, which keeps them exact however often
+     * an entry is applied.
+     */
+    @Transactional
+    public void applyVotes(List<VoteBuffer.PendingVote> votes) {
+        if (votes.isEmpty()) {
+            return;
+        }
+        List<Object[]> upserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        Set<Long> postIds = new LinkedHashSet<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (VoteBuffer.PendingVote vote : votes) {
+            postIds.add(vote.getPostId());
+            if (vote.getDesired() == null) {
+                deletes.add(new Object[] {vote.getPostId(), vote.getUserId()});
+            } else {
+                upserts.add(new Object[] {vote.getPostId(), vote.getUserId(), vote.getDesired(), now, now});
+            }
+        }
+
+        if (!upserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(upsertSql(), upserts);
+        }
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_SQL, deletes);
+        }
+        recountCounters(postIds);
+    }
+
+    // Recount the posts' vote counters and pass on the changes to scores and caches
+    private void recountCounters(Set<Long> postIds) {
+        Map<Long, int[]> before = voteCounts(postIds);
+        postRepository.recountVoteCounts(postIds);
+        for (Map.Entry<Long, int[]> after : voteCounts(postIds).entrySet()) {
+            Long postId = after.getKey();
+            int[] previous = before.getOrDefault(postId, after.getValue());
+            int upvoteDelta = after.getValue()[0] - previous[0];
+            int downvoteDelta = after.getValue()[1] - previous[1];
+            if (upvoteDelta == 0 && downvoteDelta == 0) {
+                continue;
+            }
+            postRankingService.refreshHotScore(postId);
+            AfterCommit.run(() -> {
+                hotFeedCache.onCountersChanged(postId, upvoteDelta, downvoteDelta, 0);
+                postJsonCache.invalidate(postId);
+            });
+        }
+    }
+
+    private Map<Long, int[]> voteCounts(Set<Long> postIds) {
+        Map<Long, int[]> counts = new HashMap<>();
+        for (Object[] row : postRepository.findVoteCounts(postIds)) {
+            counts.put((Long) row[0], new int[] {((Number) row[1]).intValue(), ((Number) row[2]).intValue()});
+        }
+        return counts;
+    }
+
+    private String upsertSql() {
+        String sql = upsertSql;
+        if (sql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+            sql = "MySQL".equalsIgnoreCase(product) ? MYSQL_UPSERT_SQL : MERGE_UPSERT_SQL;
+            upsertSql = sql;
+        }
+        return sql;
     }
 
     public Vote findByPostIdAndUserId(Long postId, Long userId) {
         return voteRepository.findByPost_IdAndUserId(postId, userId);
     }
 
+    @Transactional
     public void deleteByPostIdAndUserId(Long postId, Long userId) {
         Vote existingVote = voteRepository.findByPost_IdAndUserId(postId, userId);
         if (existingVote != null) {
-            voteRepository.deleteById(existingVote.getId());
+            removeVote(existingVote);
         }
     }
 
@@ -39,5 +193,42 @@ public class VoteService {
         Vote vote = voteRepository.findByPost_IdAndUserId(postId, userId);
         return Optional.ofNullable(vote);
     }
-}
 
+    /**
+     * Periodically recompute the denormalized vote counters from the votes table.
+     * Runs in id windows so no single statement locks the whole posts table.
+     */
+    @Scheduled(fixedDelayString = "${post.counters.reconcile.interval.ms:900000}",
+               initialDelayString = "${post.counters.reconcile.initial.delay.ms:60000}")
+    public void reconcileVoteCounters() {
+        try {
+            long maxId = postRepository.findMaxId();
+            int updated = 0;
+            for (long fromId = 1; fromId <= maxId; fromId += RECONCILE_BATCH_SIZE) {
+                updated += postRepository.reconcileVoteCounts(fromId, fromId + RECONCILE_BATCH_SIZE - 1);
+                postRankingService.refreshHotScores(fromId, fromId + RECONCILE_BATCH_SIZE - 1);
+            }
+            // Reload the hot feed so it picks up any corrected counters
+            hotFeedCache.invalidate();
+            postJsonCache.clear();
+            logger.debug("Vote counter reconciliation finished, {} posts checked", updated);
+        } catch (Exception e) {
+            logger.error("Error reconciling vote counters: {}", e.getMessage(), e);
+        }
+    }
+
+    private void adjustCounters(Long postId, Boolean upvote, int delta) {
+        if (upvote == null) {
+            return;
+        }
+        int upvoteDelta = upvote ? delta : 0;
+        int downvoteDelta = upvote ? 0 : delta;
+        postRepository.adjustVoteCounts(postId, upvoteDelta, downvoteDelta);
+        postRankingService.refreshHotScore(postId);
+        // Cached counters follow the database only once the transaction committed
+        AfterCommit.run(() -> {
+            hotFeedCache.onCountersChanged(postId, upvoteDelta, downvoteDelta, 0);
+            postJsonCache.invalidate(postId);
+        });
+    }
+}
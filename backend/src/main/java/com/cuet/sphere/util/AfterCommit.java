@@ -0,0 +1,25 @@
+package com.cuet.sphere.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers updates of in-memory state (feed cache, JSON cache, search index) until the
+ * surrounding transaction has committed, so a rollback never leaves them showing data
+ * the database does not have. Runs the action right away when no transaction is active.
+ */
+public class AfterCommit {
+
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
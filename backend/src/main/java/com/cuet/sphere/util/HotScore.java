@@ -0,0 +1,36 @@
+package com.cuet.sphere.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Time-decayed "hot" ranking score.
+ *
+ * score = sign(e) * log10(max(|e|, 1)) + (createdAt - EPOCH) / DECAY_SECONDS
+ * where e = upvotes - downvotes + COMMENT_WEIGHT * comments.
+ *
+ * The time term depends only on the creation time, so newer posts start higher and
+ * older posts "decay" relative to them without any score being rewritten as time
+ * passes. A score only has to be recomputed when that post's votes or comments change.
+ */
+public class HotScore {
+
+    // 2024-01-01T00:00:00Z, keeps the time term small
+    private static final long EPOCH_SECONDS = 1704067200L;
+
+    // Ten times the engagement is worth this many seconds of recency (12.5 hours)
+    private static final double DECAY_SECONDS = 45000.0;
+
+    private static final double COMMENT_WEIGHT = 0.5;
+
+    public static double compute(int upvotes, int downvotes, int comments, LocalDateTime createdAt) {
+        double engagement = upvotes - downvotes + COMMENT_WEIGHT * comments;
+        double order = Math.log10(Math.max(Math.abs(engagement), 1.0));
+        double sign = Math.signum(engagement);
+
+        long createdSeconds = createdAt != null
+                ? createdAt.toEpochSecond(ZoneOffset.UTC)
+                : EPOCH_SECONDS;
+        return sign * order + (createdSeconds - EPOCH_SECONDS) / DECAY_SECONDS;
+    }
+}
@@ -0,0 +1,105 @@
+package com.cuet.sphere.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HyperLogLog sketch for approximate distinct counts (unique viewers of a post).
+ *
+ * 2^PRECISION one-byte registers (1 KB) give a standard error of about 3.3%
+ * regardless of how many values are offered. Sketches merge by taking the
+ * register-wise maximum, so partial sketches can be folded into a stored one.
+ *
+ * offer() is safe to call concurrently: registers only ever grow, so the check is
+ * done without a lock and only an actual increase synchronizes.
+ */
+public class HyperLogLog {
+
+    public static final int PRECISION = 10;
+    public static final int SIZE_BYTES = 1 << PRECISION;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / SIZE_BYTES);
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this.registers = new byte[SIZE_BYTES];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    /**
+     * Rebuild a sketch from {@link #toBytes()}; null or a wrong length yields an empty sketch
+     */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != SIZE_BYTES) {
+            return new HyperLogLog();
+        }
+        return new HyperLogLog(bytes.clone());
+    }
+
+    public void offer(String value) {
+        offerHash(hash(value));
+    }
+
+    public void offerHash(long hash) {
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        // Rank of the first 1-bit in the remaining bits; the guard bit caps it at 64 - PRECISION + 1
+        long remaining = (hash << PRECISION) | (1L << (PRECISION - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        if (rank > registers[index]) {
+            synchronized (this) {
+                if (rank > registers[index]) {
+                    registers[index] = rank;
+                }
+            }
+        }
+    }
+
+    public synchronized void merge(HyperLogLog other) {
+        byte[] theirs = other.toBytes();
+        for (int i = 0; i < SIZE_BYTES; i++) {
+            if (theirs[i] > registers[i]) {
+                registers[i] = theirs[i];
+            }
+        }
+    }
+
+    public synchronized long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+
+        double estimate = ALPHA * SIZE_BYTES * SIZE_BYTES / sum;
+        // Small-range correction: linear counting is far more accurate while registers are still empty
+        if (estimate <= 2.5 * SIZE_BYTES && zeros > 0) {
+            estimate = SIZE_BYTES * Math.log((double) SIZE_BYTES / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public synchronized byte[] toBytes() {
+        return registers.clone();
+    }
+
+    // 64-bit FNV-1a followed by the MurmurHash3 finalizer for a well-mixed top PRECISION bits
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,49 @@
+package com.cuet.sphere.util;
+
+import com.cuet.sphere.model.RetryableTask;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exponential backoff for the background work queues: the n-th failure of a task delays
+ * its next attempt by 2^(n-1) times the base delay (1x, 2x, 4x, ...), and the failure
+ * that reaches maxAttempts gives the task up. Also counts failures and abandoned tasks.
+ */
+public class RetryPolicy {
+
+    private final int maxAttempts;
+    private final long retryDelayMs;
+
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder abandoned = new LongAdder();
+
+    public RetryPolicy(int maxAttempts, long retryDelayMs) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryDelayMs = Math.max(0, retryDelayMs);
+    }
+
+    /**
+     * Record a failed attempt on the task.
+     * @return true when the task was rescheduled (save it), false when it is given up (remove it)
+     */
+    public boolean onFailure(RetryableTask task, Exception e) {
+        failures.increment();
+        if (task.getAttempts() + 1 >= maxAttempts) {
+            abandoned.increment();
+            return false;
+        }
+        long delayMs = retryDelayMs << Math.min(task.getAttempts(), 16);
+        task.recordFailure(e.getMessage(), LocalDateTime.now().plusNanos(delayMs * 1_000_000));
+        return true;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("failures", failures.sum());
+        stats.put("abandoned", abandoned.sum());
+        return stats;
+    }
+}
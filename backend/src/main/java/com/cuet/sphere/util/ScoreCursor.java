@@ -0,0 +1,69 @@
+package com.cuet.sphere.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor for keyset pagination over ranked results ordered by (score DESC, id DESC).
+ * The encoded form is URL-safe base64 so clients can pass it back unchanged.
+ */
+public class ScoreCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final double score;
+    private final Long id;
+
+    public ScoreCursor(double score, Long id) {
+        this.score = score;
+        this.id = id;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Whether a result with this score and id comes after the cursor position
+     */
+    public boolean isBefore(double otherScore, long otherId) {
+        return otherScore < score || (otherScore == score && otherId < id);
+    }
+
+    public String encode() {
+        String raw = Double.toString(score) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String encode(double score, Long id) {
+        return new ScoreCursor(score, id).encode();
+    }
+
+    /**
+     * Decode a cursor previously produced by {@link #encode()}
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static ScoreCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            throw new IllegalArgumentException("Cursor must not be empty");
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            if (separatorIndex <= 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+
+            double score = Double.parseDouble(raw.substring(0, separatorIndex));
+            Long id = Long.parseLong(raw.substring(separatorIndex + 1));
+            return new ScoreCursor(score, id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.cuet.sphere;
+
+import com.cuet.sphere.dto.AuthorSummary;
+import com.cuet.sphere.model.User;
+import com.cuet.sphere.service.AuthorCache;
+import com.cuet.sphere.service.S3Service;
+import com.cuet.sphere.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class AuthorCacheTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AuthorCache authorCache;
+
+    @Autowired
+    private UserService userService;
+
+    @MockBean
+    private S3Service s3Service;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    public void setup() {
+        authorCache.clear();
+        alice = createUser("Alice", "u2204011@student.cuet.ac.bd", "011");
+        bob = createUser("Bob", "u2204012@student.cuet.ac.bd", "012");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void testBulkLoadOnceThenServedFromCache() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Map<Long, AuthorSummary> first = authorCache.getAll(List.of(alice.getId(), bob.getId(), alice.getId()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals("Alice", first.get(alice.getId()).getFullName());
+        assertEquals("2204012", first.get(bob.getId()).getStudentId());
+        // Projection only, no User entities
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        Map<Long, AuthorSummary> second = authorCache.getAll(List.of(alice.getId(), bob.getId()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertSame(first.get(alice.getId()), second.get(alice.getId()));
+    }
+
+    @Test
+    public void testLazyProxyIsResolvedWithoutInitializingIt() {
+        User proxy = entityManager.getEntityManager().getReference(User.class, alice.getId());
+
+        AuthorSummary summary = authorCache.get(proxy);
+
+        assertEquals("u2204011@student.cuet.ac.bd", summary.getEmail());
+        assertFalse(Hibernate.isInitialized(proxy));
+        assertSame(AuthorSummary.UNKNOWN, authorCache.get(null));
+    }
+
+    @Test
+    public void testProfilePictureUpdateEvictsSummary() {
+        assertNull(authorCache.get(alice).getProfilePicture());
+
+        userService.updateProfilePicture(alice, "https://media.example/alice.png");
+        entityManager.flush();
+
+        assertEquals("https://media.example/alice.png",
+            authorCache.getAll(List.of(alice.getId())).get(alice.getId()).getProfilePicture());
+    }
+
+    private User createUser(String name, String email, String studentId) {
+        return entityManager.persist(TestFixtures.user(name, email, studentId));
+    }
+}
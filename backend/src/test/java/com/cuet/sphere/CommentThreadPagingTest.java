@@ -0,0 +1,154 @@
+package com.cuet.sphere;
+
+import com.cuet.sphere.dto.CommentDTO;
+import com.cuet.sphere.dto.CursorPage;
+import com.cuet.sphere.dto.ReplyDTO;
+import com.cuet.sphere.model.Comment;
+import com.cuet.sphere.model.Post;
+import com.cuet.sphere.model.Reply;
+import com.cuet.sphere.model.User;
+import com.cuet.sphere.service.CommentService;
+import com.cuet.sphere.service.HotFeedCache;
+import com.cuet.sphere.service.PostRankingService;
+import com.cuet.sphere.service.ReplyService;
+import com.cuet.sphere.service.S3Service;
+import com.cuet.sphere.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({CommentService.class, ReplyService.class, UserService.class, HotFeedCache.class, PostRankingService.class})
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "comments.preview.replies=3"
+})
+public class CommentThreadPagingTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private ReplyService replyService;
+
+    @MockBean
+    private S3Service s3Service;
+
+    private Long postId;
+    private List<Long> commentIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        User author = entityManager.persist(TestFixtures.user("Thread Author", "u2204001@student.cuet.ac.bd", "001"));
+        Post post = entityManager.persist(TestFixtures.post(author, "Busy thread", LocalDateTime.now()));
+        postId = post.getId();
+
+        LocalDateTime start = LocalDateTime.now().withNano(0).minusHours(1);
+        for (int i = 0; i < 5; i++) {
+            Comment comment = new Comment();
+            comment.setText("Comment " + i);
+            comment.setUser(author);
+            comment.setPost(post);
+            comment.setCreatedAt(start.plusMinutes(i));
+            comment.setUpdatedAt(start.plusMinutes(i));
+            comment = commentService.createComment(comment);
+            commentIds.add(comment.getId());
+
+            int replies = i == 0 ? 5 : (i == 1 ? 1 : 0);
+            for (int j = 0; j < replies; j++) {
+                Reply reply = new Reply();
+                reply.setText("Reply " + i + "." + j);
+                reply.setUser(author);
+                reply.setComment(comment);
+                reply.setCreatedAt(start.plusMinutes(i).plusSeconds(j + 1));
+                reply.setUpdatedAt(start.plusMinutes(i).plusSeconds(j + 1));
+                replyService.createReply(reply);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void testCommentPageHasReplyCountsAndBoundedPreviews() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        CursorPage<CommentDTO> first = commentService.getCommentPage(postId, null, 2);
+
+        assertEquals(List.of("Comment 0", "Comment 1"),
+            first.getContent().stream().map(CommentDTO::getText).collect(Collectors.toList()));
+        assertEquals(5, first.getContent().get(0).getReplyCount());
+        assertEquals(List.of("Reply 0.0", "Reply 0.1", "Reply 0.2"), texts(first.getContent().get(0).getReplies()));
+        assertEquals(1, first.getContent().get(1).getReplyCount());
+        assertEquals("Thread Author", first.getContent().get(0).getReplies().get(0).getAuthor());
+
+        // comments with authors + their post (eager to-one) + reply previews with authors
+        assertEquals(3, statistics.getPrepareStatementCount());
+
+        CursorPage<CommentDTO> second = commentService.getCommentPage(postId, first.getNextCursor(), 2);
+        CursorPage<CommentDTO> third = commentService.getCommentPage(postId, second.getNextCursor(), 2);
+        assertEquals(1, third.getContent().size());
+        assertFalse(third.isHasNext());
+        assertTrue(third.getContent().get(0).getReplies().isEmpty());
+    }
+
+    @Test
+    public void testRepliesPageByCursor() {
+        CursorPage<ReplyDTO> first = replyService.getReplyPage(commentIds.get(0), "", 2);
+        CursorPage<ReplyDTO> second = replyService.getReplyPage(commentIds.get(0), first.getNextCursor(), 2);
+        CursorPage<ReplyDTO> third = replyService.getReplyPage(commentIds.get(0), second.getNextCursor(), 2);
+
+        assertEquals(List.of("Reply 0.0", "Reply 0.1"), texts(first.getContent()));
+        assertEquals(List.of("Reply 0.2", "Reply 0.3"), texts(second.getContent()));
+        assertEquals(List.of("Reply 0.4"), texts(third.getContent()));
+        assertFalse(third.isHasNext());
+        assertNull(third.getNextCursor());
+    }
+
+    @Test
+    public void testFullThreadResolvesAuthorsInOneQuery() {
+        List<Comment> comments = entityManager.getEntityManager()
+            .createQuery("SELECT c FROM Comment c WHERE c.post.id = :postId ORDER BY c.id", Comment.class)
+            .setParameter("postId", postId)
+            .getResultList();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<CommentDTO> thread = commentService.convertToDTOs(comments);
+
+        assertEquals(5, thread.size());
+        assertEquals(5, thread.get(0).getReplies().size());
+        assertEquals("Thread Author", thread.get(0).getAuthor());
+        assertEquals("Thread Author", thread.get(0).getReplies().get(4).getAuthor());
+        // all replies + all authors, independent of the thread size
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private List<String> texts(List<ReplyDTO> replies) {
+        return replies.stream().map(ReplyDTO::getText).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,125 @@
+package com.cuet.sphere;
+
+import com.cuet.sphere.dto.PostDTO;
+import com.cuet.sphere.service.HotFeedCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HotFeedCacheTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private HotFeedCache cache;
+
+    @BeforeEach
+    public void setup() {
+        cache = new HotFeedCache(5);
+    }
+
+    @Test
+    public void testMissUntilLoaded() {
+        assertTrue(cache.getRange(0, 2).isEmpty());
+
+        cache.load(newestPosts(10, 6), 10, cache.currentVersion());
+
+        assertEquals(List.of(10L, 9L), ids(cache.getRange(0, 2)));
+        assertEquals(1L, cache.getStats().get("misses"));
+        assertEquals(1L, cache.getStats().get("hits"));
+    }
+
+    @Test
+    public void testCreatedPostIsInsertedAndOldestEvicted() {
+        cache.load(newestPosts(5, 5), 20, cache.currentVersion());
+
+        cache.onPostCreated(post(11L, BASE_TIME.plusMinutes(11)));
+
+        assertEquals(List.of(11L, 5L, 4L, 3L, 2L), ids(cache.getRange(0, 5)));
+        assertEquals(21, cache.getTotalPosts());
+    }
+
+    @Test
+    public void testDeleteShrinksCoveredRange() {
+        cache.load(newestPosts(5, 5), 20, cache.currentVersion());
+
+        cache.onPostDeleted(4L);
+
+        assertEquals(List.of(5L, 3L, 2L, 1L), ids(cache.getRange(0, 4)));
+        // Only four posts are known now, the fifth must come from the database
+        assertTrue(cache.getRange(0, 5).isEmpty());
+    }
+
+    @Test
+    public void testCounterChangesAreAppliedInPlace() {
+        cache.load(newestPosts(3, 3), 3, cache.currentVersion());
+
+        cache.onCountersChanged(2L, 1, 0, 0);
+        cache.onCountersChanged(2L, -1, 1, 2);
+
+        PostDTO updated = cache.getRange(0, 3).get().get(1);
+        assertEquals(0, updated.getUpvotes());
+        assertEquals(1, updated.getDownvotes());
+        assertEquals(2, updated.getCommentCount());
+    }
+
+    @Test
+    public void testStaleLoadIsDiscarded() {
+        long version = cache.currentVersion();
+        cache.onPostCreated(post(99L, BASE_TIME.plusDays(1)));
+
+        cache.load(newestPosts(3, 3), 3, version);
+
+        assertTrue(cache.getRange(0, 1).isEmpty());
+    }
+
+    @Test
+    public void testAuthorChangeDropsCacheOnlyWhenItShowsTheAuthor() {
+        List<PostDTO> posts = newestPosts(3, 3);
+        posts.forEach(dto -> dto.setUserId(dto.getId() == 2L ? 7L : 8L));
+        cache.load(posts, 3, cache.currentVersion());
+
+        cache.onAuthorChanged(9L);
+        assertEquals(List.of(3L, 2L, 1L), ids(cache.getRange(0, 3)));
+
+        cache.onAuthorChanged(7L);
+        assertTrue(cache.getRange(0, 1).isEmpty());
+    }
+
+    @Test
+    public void testReturnedPostsAreCopies() {
+        cache.load(newestPosts(3, 3), 3, cache.currentVersion());
+
+        cache.getRange(0, 1).get().get(0).setSaved(true);
+
+        assertFalse(cache.getRange(0, 1).get().get(0).isSaved());
+    }
+
+    // Posts with ids newestId, newestId - 1, ... created one minute apart
+    private List<PostDTO> newestPosts(long newestId, int count) {
+        List<PostDTO> posts = new ArrayList<>();
+        for (long id = newestId; id > newestId - count; id--) {
+            posts.add(post(id, BASE_TIME.plusMinutes(id)));
+        }
+        return posts;
+    }
+
+    private PostDTO post(Long id, LocalDateTime createdAt) {
+        PostDTO dto = new PostDTO();
+        dto.setId(id);
+        dto.setTitle("Post " + id);
+        dto.setCreatedAt(createdAt);
+        return dto;
+    }
+
+    private List<Long> ids(Optional<List<PostDTO>> posts) {
+        assertTrue(posts.isPresent());
+        return posts.get().stream().map(PostDTO::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,38 @@
+package com.cuet.sphere;
+
+import com.cuet.sphere.util.HotScore;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HotScoreTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    @Test
+    public void testNewerPostRanksHigherAtEqualEngagement() {
+        double older = HotScore.compute(5, 0, 2, CREATED);
+        double newer = HotScore.compute(5, 0, 2, CREATED.plusHours(1));
+
+        assertTrue(newer > older);
+    }
+
+    @Test
+    public void testVotesAndCommentsRaiseScore() {
+        double base = HotScore.compute(0, 0, 0, CREATED);
+
+        assertTrue(HotScore.compute(10, 0, 0, CREATED) > base);
+        assertTrue(HotScore.compute(0, 0, 10, CREATED) > base);
+        assertTrue(HotScore.compute(0, 10, 0, CREATED) < base);
+    }
+
+    @Test
+    public void testTenfoldEngagementOutweighsTwelveAndAHalfHours() {
+        double popularOlder = HotScore.compute(100, 0, 0, CREATED);
+        double quietNewer = HotScore.compute(10, 0, 0, CREATED.plusSeconds(45000));
+
+        assertEquals(popularOlder, quietNewer, 1e-9);
+    }
+}
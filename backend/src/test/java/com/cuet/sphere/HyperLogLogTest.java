@@ -0,0 +1,50 @@
+package com.cuet.sphere;
+
+import com.cuet.sphere.util.HyperLogLog;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HyperLogLogTest {
+
+    @Test
+    public void testEstimateIsWithinErrorBounds() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 20000; i++) {
+            sketch.offer("user:" + i);
+        }
+
+        // ~3.3% standard error; allow three of them
+        assertEquals(20000, sketch.estimate(), 20000 * 0.10);
+    }
+
+    @Test
+    public void testRepeatedViewersAreCountedOnce() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 100; i++) {
+                sketch.offer("user:" + i);
+            }
+        }
+
+        assertEquals(100, sketch.estimate(), 5);
+    }
+
+    @Test
+    public void testMergeAndRoundTripMatchASingleSketch() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        HyperLogLog all = new HyperLogLog();
+        for (int i = 0; i < 3000; i++) {
+            (i % 2 == 0 ? first : second).offer("addr:" + i);
+            all.offer("addr:" + i);
+        }
+
+        HyperLogLog restored = HyperLogLog.fromBytes(first.toBytes());
+        restored.merge(second);
+
+        assertArrayEquals(all.toBytes(), restored.toBytes());
+        assertEquals(all.estimate(), restored.estimate());
+        assertEquals(0, HyperLogLog.fromBytes(null).estimate());
+    }
+}
@@ -0,0 +1,176 @@
+package com.cuet.sphere;
+
+import com.cuet.sphere.dto.PostDTO;
+import com.cuet.sphere.model.OutboxEvent;
+import com.cuet.sphere.model.Post;
+import com.cuet.sphere.model.User;
+import com.cuet.sphere.repository.OutboxEventRepository;
+import com.cuet.sphere.repository.PostRepository;
+import com.cuet.sphere.service.EmailService;
+import com.cuet.sphere.service.OutboxDispatcher;
+import com.cuet.sphere.service.PostService;
+import com.cuet.sphere.service.S3Service;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "feed.cache.capacity=0",
+    "media.derivatives.thumbnail.width=100",
+    "media.derivatives.feed.width=400"
+})
+public class ImageDerivativeTest {
+
+    private static final String PHOTO_URL = "http://localhost:5454/uploads/posts/photo.png";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @MockBean
+    private S3Service s3Service;
+
+    @MockBean
+    private EmailService emailService;
+
+    private User author;
+
+    @BeforeEach
+    public void setup() {
+        author = entityManager.persist(TestFixtures.user("Photographer", "u2204005@student.cuet.ac.bd", "005"));
+        entityManager.flush();
+    }
+
+    @Test
+    public void testLargeImageGetsThumbnailAndFeedCopies() throws Exception {
+        when(s3Service.readFile(PHOTO_URL)).thenReturn(png(1600, 800, true));
+        Post post = createPost(PHOTO_URL);
+        assertTrue(outboxEventRepository.findAll().stream()
+            .anyMatch(e -> e.getType() == OutboxEvent.Type.POST_IMAGE_DERIVATIVES));
+        assertNull(postService.convertToDTO(post).getThumbnailUrl());
+
+        dispatch();
+
+        ArgumentCaptor<byte[]> feed = ArgumentCaptor.forClass(byte[].class);
+        ArgumentCaptor<byte[]> thumbnail = ArgumentCaptor.forClass(byte[].class);
+        verify(s3Service).uploadDerivedFile(eq("http://localhost:5454/uploads/posts/photo_feed.jpg"), feed.capture(), eq("image/jpeg"));
+        verify(s3Service).uploadDerivedFile(eq("http://localhost:5454/uploads/posts/photo_thumb.jpg"), thumbnail.capture(), eq("image/jpeg"));
+        assertEquals(400, ImageIO.read(new ByteArrayInputStream(feed.getValue())).getWidth());
+        BufferedImage small = ImageIO.read(new ByteArrayInputStream(thumbnail.getValue()));
+        assertEquals(100, small.getWidth());
+        assertEquals(50, small.getHeight());
+
+        PostDTO dto = postService.convertToDTO(postRepository.findById(post.getId()).orElseThrow());
+        assertEquals(PHOTO_URL, dto.getMediaUrl());
+        assertEquals("http://localhost:5454/uploads/posts/photo_thumb.jpg", dto.getThumbnailUrl());
+        assertEquals("http://localhost:5454/uploads/posts/photo_feed.jpg", dto.getFeedImageUrl());
+        assertTrue(outboxEventRepository.findAll().stream()
+            .noneMatch(e -> e.getType() == OutboxEvent.Type.POST_IMAGE_DERIVATIVES));
+    }
+
+    @Test
+    public void testSmallImageKeepsTheOriginalWhenACopyWouldNotBeSmaller() throws Exception {
+        when(s3Service.readFile(PHOTO_URL)).thenReturn(png(80, 40, false));
+        Post post = createPost(PHOTO_URL);
+
+        dispatch();
+
+        verify(s3Service, never()).uploadDerivedFile(anyString(), any(), anyString());
+        PostDTO dto = postService.convertToDTO(postRepository.findById(post.getId()).orElseThrow());
+        assertEquals(PHOTO_URL, dto.getThumbnailUrl());
+        assertEquals(PHOTO_URL, dto.getFeedImageUrl());
+    }
+
+    @Test
+    public void testReplacedImageHidesOldCopiesUntilNewOnesAreReady() throws Exception {
+        String replacementUrl = "http://localhost:5454/uploads/posts/other.jpg";
+        when(s3Service.readFile(PHOTO_URL)).thenReturn(png(1600, 800, true));
+        when(s3Service.readFile(replacementUrl)).thenReturn(png(1200, 1200, true));
+        Post post = createPost(PHOTO_URL);
+        dispatch();
+
+        post = postRepository.findById(post.getId()).orElseThrow();
+        post.setMediaUrl(replacementUrl);
+        postService.createPost(post);
+        entityManager.flush();
+        entityManager.clear();
+
+        PostDTO edited = postService.convertToDTO(postRepository.findById(post.getId()).orElseThrow());
+        assertNull(edited.getThumbnailUrl());
+        assertNull(edited.getFeedImageUrl());
+
+        dispatch();
+
+        PostDTO ready = postService.convertToDTO(postRepository.findById(post.getId()).orElseThrow());
+        assertEquals("http://localhost:5454/uploads/posts/other_thumb.jpg", ready.getThumbnailUrl());
+        // Copies of the replaced image are removed
+        verify(s3Service).deleteFileOrThrow("http://localhost:5454/uploads/posts/photo_thumb.jpg");
+        verify(s3Service).deleteFileOrThrow("http://localhost:5454/uploads/posts/photo_feed.jpg");
+        verify(s3Service, times(4)).uploadDerivedFile(anyString(), any(), eq("image/jpeg"));
+    }
+
+    private Post createPost(String mediaUrl) {
+        LocalDateTime now = LocalDateTime.now();
+        Post post = TestFixtures.post(author, "Photo", now);
+        post.setMediaUrl(mediaUrl);
+        post = postService.createPost(post);
+        entityManager.flush();
+        return post;
+    }
+
+    private void dispatch() {
+        outboxDispatcher.dispatch();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    // A gradient resists compression, a flat fill compresses to almost nothing
+    private static byte[] png(int width, int height, boolean gradient) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setPaint(gradient ? new GradientPaint(0, 0, Color.RED, width, height, Color.BLUE) : Color.GRAY);
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return bytes.toByteArray();
+    }
+}
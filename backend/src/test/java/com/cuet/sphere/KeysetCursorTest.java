@@ -0,0 +1,38 @@
+package com.cuet.sphere;
+
+import com.cuet.sphere.util.KeysetCursor;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeysetCursorTest {
+
+    @Test
+    public void testEncodeDecodeRoundTrip() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_000_000);
+
+        String cursor = KeysetCursor.encode(createdAt, 42L);
+        KeysetCursor decoded = KeysetCursor.decode(cursor);
+
+        assertEquals(createdAt, decoded.getCreatedAt());
+        assertEquals(42L, decoded.getId());
+    }
+
+    @Test
+    public void testCursorIsUrlSafe() {
+        String cursor = KeysetCursor.encode(LocalDateTime.of(2025, 1, 1, 0, 0), 7L);
+
+        assertFalse(cursor.contains("+"));
+        assertFalse(cursor.contains("/"));
+        assertFalse(cursor.contains("="));
+    }
+
+    @Test
+    public void testDecodeRejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(""));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("Zm9vfGJhcg")); // "foo|bar"
+    }
+}
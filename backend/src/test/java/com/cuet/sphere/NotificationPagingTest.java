@@ -0,0 +1,159 @@
+package com.cuet.sphere;
+
+import com.cuet.sphere.dto.CursorPage;
+import com.cuet.sphere.dto.NotificationDTO;
+import com.cuet.sphere.model.Notification;
+import com.cuet.sphere.model.User;
+import com.cuet.sphere.service.EmailService;
+import com.cuet.sphere.service.NotificationService;
+import com.cuet.sphere.service.WebSocketService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(NotificationService.class)
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class NotificationPagingTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private EmailService emailService;
+
+    @MockBean
+    private WebSocketService webSocketService;
+
+    private User recipient;
+    // Newest first
+    private final List<Long> allIds = new ArrayList<>();
+    private final List<Long> unreadIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        recipient = user("Recipient", "u2204010@student.cuet.ac.bd", "010");
+        User actor = user("Commenter", "u2204011@student.cuet.ac.bd", "011");
+
+        for (int i = 0; i < 7; i++) {
+            Notification notification = new Notification();
+            notification.setUser(recipient);
+            notification.setTitle("Comment " + i);
+            notification.setMessage("Message " + i);
+            notification.setType(Notification.NotificationType.POST_COMMENT);
+            notification.setActorUserId(actor.getId());
+            notification.setIsRead(i % 3 == 0);
+            entityManager.persist(notification);
+            allIds.add(0, notification.getId());
+            if (i % 3 != 0) {
+                unreadIds.add(0, notification.getId());
+            }
+        }
+        entityManager.flush();
+
+        // Identical timestamps, so the id tie-break decides the order
+        entityManager.getEntityManager()
+            .createQuery("UPDATE Notification n SET n.createdAt = :createdAt")
+            .setParameter("createdAt", LocalDateTime.of(2025, 3, 1, 12, 0))
+            .executeUpdate();
+        entityManager.clear();
+    }
+
+    @Test
+    public void testCursorWalksAllNotificationsNewestFirst() {
+        assertEquals(allIds, walk(false, 3));
+    }
+
+    @Test
+    public void testUnreadOnlySkipsReadNotifications() {
+        assertEquals(unreadIds, walk(true, 2));
+
+        CursorPage<NotificationDTO> first = notificationService.getUserNotificationsSlice(recipient.getId(), null, 10, true);
+        assertFalse(first.isHasNext());
+        assertNull(first.getNextCursor());
+        assertTrue(first.getContent().stream().noneMatch(NotificationDTO::getIsRead));
+        assertEquals("Commenter", first.getContent().get(0).getActorUserName());
+    }
+
+    @Test
+    public void testMalformedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+            () -> notificationService.getUserNotificationsSlice(recipient.getId(), "not-a-cursor", 10, false));
+    }
+
+    @Test
+    public void testActorNamesAreLoadedTogether() {
+        List<String> names = List.of("Replier A", "Replier B", "Replier C");
+        for (int i = 0; i < names.size(); i++) {
+            User actor = user(names.get(i), "u220402" + i + "@student.cuet.ac.bd", "02" + i);
+            Notification notification = new Notification();
+            notification.setUser(recipient);
+            notification.setTitle("Reply " + i);
+            notification.setMessage("Message " + i);
+            notification.setType(Notification.NotificationType.COMMENT_REPLY);
+            notification.setActorUserId(actor.getId());
+            notification.setIsRead(false);
+            entityManager.persist(notification);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        CursorPage<NotificationDTO> slice = notificationService.getUserNotificationsSlice(recipient.getId(), null, 20, false);
+
+        assertEquals(10, slice.getSize());
+        List<String> actorNames = slice.getContent().stream()
+            .map(NotificationDTO::getActorUserName).distinct().sorted().collect(Collectors.toList());
+        assertEquals(List.of("Commenter", "Replier A", "Replier B", "Replier C"), actorNames);
+        // The slice itself plus one query for all four actors
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        assertEquals(10, notificationService.getUserNotifications(recipient.getId()).size());
+        // Actors now come from the cache
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private List<Long> walk(boolean unreadOnly, int size) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = "";
+        do {
+            CursorPage<NotificationDTO> slice = notificationService.getUserNotificationsSlice(
+                recipient.getId(), cursor, size, unreadOnly);
+            assertTrue(slice.getSize() <= size);
+            ids.addAll(slice.getContent().stream().map(NotificationDTO::getId).collect(Collectors.toList()));
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private User user(String name, String email, String studentId) {
+        return entityManager.persist(TestFixtures.user(name, email, studentId));
+    }
+}
@@ -0,0 +1,147 @@
+package com.cuet.sphere;
+
+import com.cuet.sphere.model.Notification;
+import com.cuet.sphere.model.OutboxEvent;
+import com.cuet.sphere.model.Post;
+import com.cuet.sphere.model.User;
+import com.cuet.sphere.repository.NotificationRepository;
+import com.cuet.sphere.repository.OutboxEventRepository;
+import com.cuet.sphere.repository.UserRepository;
+import com.cuet.sphere.service.EmailService;
+import com.cuet.sphere.service.OutboxDispatcher;
+import com.cuet.sphere.service.PostService;
+import com.cuet.sphere.service.S3Service;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "feed.cache.capacity=0",
+    "outbox.dispatch.max-attempts=3"
+})
+public class OutboxTest {
+
+    private static final String ADMIN_EMAIL = "outbox.admin@cuet.ac.bd";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private EmailService emailService;
+
+    @MockBean
+    private S3Service s3Service;
+
+    private User admin;
+    private User author;
+    // Includes the admin seeded by DataLoader
+    private int adminCount;
+
+    @BeforeEach
+    public void setup() {
+        admin = TestFixtures.user("Site Admin", ADMIN_EMAIL, "001");
+        admin.setRole(User.Role.SYSTEM_ADMIN);
+        entityManager.persist(admin);
+        author = TestFixtures.user("Post Author", "u2204002@student.cuet.ac.bd", "002");
+        entityManager.persist(author);
+        entityManager.flush();
+        adminCount = userRepository.findByRole(User.Role.SYSTEM_ADMIN).size();
+    }
+
+    @Test
+    public void testNewPostIsDeliveredFromTheOutbox() {
+        when(emailService.sendNewPostAdminEmail(anyString(), anyString(), anyString(), anyString(), anyString()))
+            .thenReturn(true);
+        Post post = createPost();
+
+        // Only the event is written with the post
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertEquals(1, events.size());
+        assertEquals(OutboxEvent.Type.NEW_POST, events.get(0).getType());
+        assertEquals(post.getId(), events.get(0).getPostId());
+        assertEquals(0, notificationRepository.count());
+
+        outboxDispatcher.dispatch();
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Notification> notifications = notificationRepository.findByUserIdOrderByCreatedAtDesc(admin.getId());
+        assertEquals(1, notifications.size());
+        assertEquals(post.getId(), notifications.get(0).getRelatedPostId());
+        assertEquals(adminCount, notificationRepository.count());
+        events = outboxEventRepository.findAll();
+        assertEquals(adminCount, events.size());
+        assertTrue(events.stream().allMatch(e -> e.getType() == OutboxEvent.Type.NEW_POST_ADMIN_EMAIL));
+        assertTrue(events.stream().anyMatch(e -> admin.getId().equals(e.getRecipientUserId())));
+        verify(emailService, never()).sendNewPostAdminEmail(anyString(), anyString(), anyString(), anyString(), anyString());
+
+        outboxDispatcher.dispatch();
+        entityManager.flush();
+        entityManager.clear();
+
+        verify(emailService).sendNewPostAdminEmail(eq(ADMIN_EMAIL), eq("Site Admin"), eq("Post Author"),
+            eq("Outbox"), eq("Outbox content"));
+        assertEquals(0, outboxEventRepository.count());
+        assertEquals(adminCount, notificationRepository.count());
+    }
+
+    @Test
+    public void testFailedEmailIsRetriedWithBackoff() {
+        when(emailService.sendNewPostAdminEmail(anyString(), anyString(), anyString(), anyString(), anyString()))
+            .thenReturn(false);
+        createPost();
+
+        outboxDispatcher.dispatch();
+        outboxDispatcher.dispatch();
+        entityManager.flush();
+        entityManager.clear();
+
+        OutboxEvent pending = outboxEventRepository.findAll().stream()
+            .filter(e -> admin.getId().equals(e.getRecipientUserId()))
+            .findFirst().orElseThrow();
+        assertEquals(OutboxEvent.Type.NEW_POST_ADMIN_EMAIL, pending.getType());
+        assertEquals(1, pending.getAttempts());
+        assertNotNull(pending.getLastError());
+        assertTrue(pending.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        // Notifications are not repeated by the email retry
+        assertEquals(adminCount, notificationRepository.count());
+    }
+
+    private Post createPost() {
+        Post post = postService.createPost(TestFixtures.post(author, "Outbox", LocalDateTime.now()));
+        entityManager.flush();
+        return post;
+    }
+}
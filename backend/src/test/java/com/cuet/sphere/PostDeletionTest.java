@@ -0,0 +1,186 @@
+package com.cuet.sphere;
+
+import com.cuet.sphere.dto.TagCountDTO;
+import com.cuet.sphere.model.Comment;
+import com.cuet.sphere.model.Post;
+import com.cuet.sphere.model.PostDeletion;
+import com.cuet.sphere.model.Reply;
+import com.cuet.sphere.model.SavedPost;
+import com.cuet.sphere.model.User;
+import com.cuet.sphere.model.Vote;
+import com.cuet.sphere.repository.CommentRepository;
+import com.cuet.sphere.repository.PostDeletionRepository;
+import com.cuet.sphere.repository.PostRepository;
+import com.cuet.sphere.repository.ReplyRepository;
+import com.cuet.sphere.repository.SavedPostRepository;
+import com.cuet.sphere.repository.VoteRepository;
+import com.cuet.sphere.service.PostDeletionWorker;
+import com.cuet.sphere.service.PostService;
+import com.cuet.sphere.service.PostTagService;
+import com.cuet.sphere.service.S3Service;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "feed.cache.capacity=0",
+    "posts.deletion.max-attempts=2"
+})
+public class PostDeletionTest {
+
+    private static final String MEDIA_URL = "https://media.example/post.png";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostTagService postTagService;
+
+    @Autowired
+    private PostDeletionWorker postDeletionWorker;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostDeletionRepository postDeletionRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ReplyRepository replyRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private SavedPostRepository savedPostRepository;
+
+    @MockBean
+    private S3Service s3Service;
+
+    private Post post;
+
+    @BeforeEach
+    public void setup() {
+        User author = entityManager.persist(TestFixtures.user("Deleted Author", "u2204004@student.cuet.ac.bd", "004"));
+
+        LocalDateTime now = LocalDateTime.now();
+        post = TestFixtures.post(author, "Doomed", now, List.of("exam"));
+        post.setMediaUrl(MEDIA_URL);
+        post = postService.createPost(post);
+
+        Comment comment = new Comment();
+        comment.setText("Comment");
+        comment.setUser(author);
+        comment.setPost(post);
+        comment.setCreatedAt(now);
+        comment.setUpdatedAt(now);
+        entityManager.persist(comment);
+
+        Reply reply = new Reply();
+        reply.setText("Reply");
+        reply.setUser(author);
+        reply.setComment(comment);
+        reply.setCreatedAt(now);
+        reply.setUpdatedAt(now);
+        entityManager.persist(reply);
+
+        Vote vote = new Vote();
+        vote.setPost(post);
+        vote.setUserId(author.getId());
+        vote.setUpvote(true);
+        entityManager.persist(vote);
+
+        entityManager.persist(new SavedPost(author, post));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void testDeleteTombstonesNowAndPurgesInBackground() throws Exception {
+        Long postId = post.getId();
+        postService.deletePost(postId);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Gone from reads straight away, rows still there
+        assertTrue(postRepository.findById(postId).isEmpty());
+        assertEquals(0, postService.getFeedSlice(null, 10).getContent().size());
+        assertEquals(List.of(), counts(postTagService.getTrendingTags(10)));
+        assertEquals(1, commentRepository.count());
+        assertTrue(postDeletionRepository.existsById(postId));
+
+        postDeletionWorker.processDueDeletions();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(0, replyRepository.count());
+        assertEquals(0, commentRepository.count());
+        assertEquals(0, voteRepository.count());
+        assertEquals(0, savedPostRepository.count());
+        Number remaining = (Number) entityManager.getEntityManager()
+            .createNativeQuery("SELECT COUNT(*) FROM post WHERE id = :id")
+            .setParameter("id", postId)
+            .getSingleResult();
+        assertEquals(0L, remaining.longValue());
+        assertFalse(postDeletionRepository.existsById(postId));
+        verify(s3Service).deleteFileOrThrow(MEDIA_URL);
+    }
+
+    @Test
+    public void testMediaFailureIsRetriedWithBackoffThenAbandoned() throws Exception {
+        doThrow(new IOException("S3 unavailable")).when(s3Service).deleteFileOrThrow(MEDIA_URL);
+        Long postId = post.getId();
+        postService.deletePost(postId);
+
+        postDeletionWorker.processDueDeletions();
+        entityManager.flush();
+        entityManager.clear();
+
+        PostDeletion pending = postDeletionRepository.findById(postId).orElseThrow();
+        assertEquals(1, pending.getAttempts());
+        assertEquals("S3 unavailable", pending.getLastError());
+        assertTrue(pending.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        // Rows are purged even though the media is not
+        assertEquals(0, commentRepository.count());
+        assertTrue(postDeletionRepository.findDue(LocalDateTime.now(), PageRequest.of(0, 10)).isEmpty());
+
+        // Second and last attempt
+        entityManager.getEntityManager()
+            .createQuery("UPDATE PostDeletion d SET d.nextAttemptAt = :now")
+            .setParameter("now", LocalDateTime.now().minusSeconds(1))
+            .executeUpdate();
+        postDeletionWorker.processDueDeletions();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertFalse(postDeletionRepository.existsById(postId));
+        assertEquals(1L, postDeletionWorker.getStats().get("abandoned"));
+    }
+
+    private List<String> counts(List<TagCountDTO> tags) {
+        return tags.stream().map(t -> t.getTag() + ":" + t.getCount()).collect(Collectors.toList());
+    }
+}
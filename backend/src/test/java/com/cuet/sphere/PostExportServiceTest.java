@@ -0,0 +1,84 @@
+package com.cuet.sphere;
+
+import com.cuet.sphere.model.Post;
+import com.cuet.sphere.model.User;
+import com.cuet.sphere.service.PostExportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(PostExportService.class)
+public class PostExportServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PostExportService postExportService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private User author;
+
+    @BeforeEach
+    public void setup() {
+        author = entityManager.persist(TestFixtures.user("Export Author", "u2204002@student.cuet.ac.bd", "002"));
+    }
+
+    @Test
+    public void testExportWritesOnePostPerLineWithTags() throws Exception {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Post tagged = createPost("Tagged", now, List.of("exam", "cse"));
+        Post untagged = createPost("Untagged", now.plusMinutes(1), List.of());
+        entityManager.flush();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = postExportService.exportPosts(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2L, written);
+        assertEquals(2, lines.length);
+
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(tagged.getId().longValue(), first.get("id").asLong());
+        assertEquals("Tagged", first.get("title").asText());
+        assertEquals("Export Author", first.get("author").asText());
+        assertEquals("2204002", first.get("studentId").asText());
+        assertEquals(now.toString(), first.get("createdAt").asText());
+        List<String> tags = new ArrayList<>();
+        first.get("tags").forEach(tag -> tags.add(tag.asText()));
+        assertEquals(2, tags.size());
+        assertTrue(tags.containsAll(List.of("exam", "cse")));
+
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertEquals(untagged.getId().longValue(), second.get("id").asLong());
+        assertEquals(0, second.get("tags").size());
+    }
+
+    @Test
+    public void testExportOfEmptyTableWritesNothing() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(0L, postExportService.exportPosts(out));
+        assertEquals(0, out.size());
+    }
+
+    private Post createPost(String title, LocalDateTime createdAt, List<String> tags) {
+        return entityManager.persist(TestFixtures.post(author, title, createdAt, tags));
+    }
+}
@@ -0,0 +1,192 @@
+package com.cuet.sphere;
+
+import com.cuet.sphere.dto.CursorPage;
+import com.cuet.sphere.dto.PostDTO;
+import com.cuet.sphere.model.Post;
+import com.cuet.sphere.model.User;
+import com.cuet.sphere.repository.PostRepository;
+import com.cuet.sphere.service.CommentService;
+import com.cuet.sphere.service.HotFeedCache;
+import com.cuet.sphere.service.PostJsonCache;
+import com.cuet.sphere.service.PostSearchIndex;
+import com.cuet.sphere.service.PostService;
+import com.cuet.sphere.service.PostTagService;
+import com.cuet.sphere.service.S3Service;
+import com.cuet.sphere.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the feed read path against N+1 regressions by counting the SQL
+ * statements Hibernate prepares while a page of PostDTOs is assembled.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({PostService.class, HotFeedCache.class, PostSearchIndex.class, PostTagService.class})
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "feed.cache.capacity=0"
+})
+public class PostFeedQueryCountTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostJsonCache postJsonCache;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private CommentService commentService;
+
+    @MockBean
+    private S3Service s3Service;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 25; i++) {
+            User author = entityManager.persist(TestFixtures.user("Author " + i,
+                "u22040" + String.format("%02d", i) + "@student.cuet.ac.bd", String.format("%03d", i)));
+            entityManager.persist(TestFixtures.post(author, "Post " + i, now.minusMinutes(i), List.of("tag" + i, "common")));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void testOffsetFeedPageUsesConstantStatementCount() {
+        Page<PostDTO> page = postService.getAllPostsPaginated(
+            PageRequest.of(1, PAGE_SIZE, Sort.Direction.DESC, "createdAt"), false);
+
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        assertEquals(25, page.getTotalElements());
+        assertPageFullyPopulated(page.getContent());
+
+        // page query + count query + one batched tag query
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testCursorFeedSliceUsesConstantStatementCount() {
+        CursorPage<PostDTO> first = postService.getFeedSlice(null, PAGE_SIZE);
+        entityManager.clear();
+        statistics.clear();
+
+        CursorPage<PostDTO> second = postService.getFeedSlice(first.getNextCursor(), PAGE_SIZE);
+
+        assertEquals(PAGE_SIZE, second.getContent().size());
+        assertTrue(second.isHasNext());
+        assertPageFullyPopulated(second.getContent());
+
+        // slice query + one batched tag query, no COUNT
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testFeedSlicesAreServedFromTheJsonCache() {
+        postJsonCache.clear();
+        postService.getFeedSlice(null, PAGE_SIZE).getContent().forEach(postJsonCache::fragment);
+        long hitsBefore = (Long) postJsonCache.getStats().get("hits");
+
+        postService.getFeedSlice(null, PAGE_SIZE).getContent().forEach(postJsonCache::fragment);
+
+        assertEquals(hitsBefore + PAGE_SIZE, postJsonCache.getStats().get("hits"));
+        assertEquals(PAGE_SIZE, postJsonCache.getStats().get("size"));
+    }
+
+    @Test
+    public void testSearchPageUsesConstantStatementCount() {
+        postService.rebuildSearchIndex();
+        entityManager.clear();
+        statistics.clear();
+
+        CursorPage<PostDTO> first = postService.searchPosts("common content", null, PAGE_SIZE, null);
+
+        assertEquals(PAGE_SIZE, first.getContent().size());
+        assertTrue(first.isHasNext());
+        assertPageFullyPopulated(first.getContent());
+
+        // posts by id + one batched tag query; ranking happens in the index
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        CursorPage<PostDTO> second = postService.searchPosts("common content", first.getNextCursor(), PAGE_SIZE, null);
+        CursorPage<PostDTO> third = postService.searchPosts("common content", second.getNextCursor(), PAGE_SIZE, null);
+        assertEquals(5, third.getContent().size());
+        assertFalse(third.isHasNext());
+    }
+
+    @Test
+    public void testFeedETagIsCheapAndTracksCounterChanges() {
+        Pageable pageable = PageRequest.of(0, PAGE_SIZE, Sort.Direction.DESC, "createdAt");
+        String etag = postService.getFeedETag(pageable, null);
+
+        // version rows + count, no DTOs
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(etag, postService.getFeedETag(pageable, null));
+        assertNotEquals(etag, postService.getFeedETag(PageRequest.of(1, PAGE_SIZE, Sort.Direction.DESC, "createdAt"), null));
+
+        Long newestId = postService.getFeedSlice(null, 1).getContent().get(0).getId();
+        postRepository.adjustCommentCount(newestId, 1);
+        assertNotEquals(etag, postService.getFeedETag(pageable, null));
+    }
+
+    @Test
+    public void testPostETagUsesOneStatementAndTracksCounterChanges() {
+        Long postId = postService.getFeedSlice(null, 1).getContent().get(0).getId();
+        statistics.clear();
+
+        String etag = postService.getPostETag(postId);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(etag, postService.getPostETag(postId));
+
+        postRepository.adjustCommentCount(postId, 1);
+        assertNotEquals(etag, postService.getPostETag(postId));
+        assertNull(postService.getPostETag(-1L));
+    }
+
+    private void assertPageFullyPopulated(List<PostDTO> posts) {
+        for (PostDTO dto : posts) {
+            assertNotNull(dto.getAuthor());
+            assertNotEquals("Unknown User", dto.getAuthor());
+            assertEquals(2, dto.getTags().size());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.cuet.sphere;
+
+import com.cuet.sphere.dto.PostDTO;
+import com.cuet.sphere.service.PostJsonCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostJsonCacheTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private PostJsonCache cache;
+
+    @BeforeEach
+    public void setup() {
+        cache = new PostJsonCache(2, new StaticListableBeanFactory().getBeanProvider(ObjectMapper.class));
+    }
+
+    @Test
+    public void testFragmentsMatchRegularSerializationAndAreReused() throws Exception {
+        PostDTO post = post(1L, 3);
+
+        String expected = objectMapper.writeValueAsString(List.of(post));
+        assertEquals(expected, objectMapper.writeValueAsString(List.of(cache.fragment(post))));
+        assertEquals(expected, objectMapper.writeValueAsString(List.of(cache.fragment(post(1L, 3)))));
+
+        assertEquals(1L, cache.getStats().get("hits"));
+        assertEquals(1L, cache.getStats().get("misses"));
+        assertEquals(0.5, cache.getStats().get("hitRatio"));
+        assertTrue((Long) cache.getStats().get("footprintBytes") > 0);
+    }
+
+    @Test
+    public void testNewVersionIsNotServedFromOldEntry() throws Exception {
+        cache.fragment(post(1L, 3));
+
+        PostDTO voted = post(1L, 4);
+        RawValue fragment = cache.fragment(voted);
+
+        assertEquals(objectMapper.writeValueAsString(voted), objectMapper.writeValueAsString(fragment));
+        assertEquals(0L, cache.getStats().get("hits"));
+        assertEquals(1, cache.getStats().get("size"));
+    }
+
+    @Test
+    public void testImageDerivativesMakeANewVersion() throws Exception {
+        cache.fragment(post(1L, 3));
+
+        PostDTO withDerivatives = post(1L, 3);
+        withDerivatives.setThumbnailUrl("https://media.example/1-thumb.jpg");
+        withDerivatives.setFeedImageUrl("https://media.example/1-feed.jpg");
+        RawValue fragment = cache.fragment(withDerivatives);
+
+        assertTrue(objectMapper.writeValueAsString(fragment).contains("1-thumb.jpg"));
+        assertEquals(0L, cache.getStats().get("hits"));
+    }
+
+    @Test
+    public void testFeedDTOWithEmptyCommentListIsCached() {
+        PostDTO feedPost = post(1L, 3);
+        feedPost.setComments(new ArrayList<>());
+        cache.fragment(feedPost);
+        cache.fragment(feedPost);
+
+        assertEquals(1L, cache.getStats().get("hits"));
+        assertEquals(1, cache.getStats().get("size"));
+    }
+
+    @Test
+    public void testSavedFlagHasItsOwnFragment() throws Exception {
+        PostDTO saved = post(1L, 3);
+        saved.setSaved(true);
+
+        cache.fragment(post(1L, 3));
+        RawValue fragment = cache.fragment(saved);
+
+        assertTrue(objectMapper.writeValueAsString(fragment).contains("\"saved\":true"));
+        assertEquals(0L, cache.getStats().get("hits"));
+    }
+
+    @Test
+    public void testInvalidateAndCapacity() {
+        cache.fragment(post(1L, 0));
+        cache.fragment(post(2L, 0));
+        cache.fragment(post(3L, 0));
+        assertEquals(2, cache.getStats().get("size"));
+
+        cache.clear();
+        assertEquals(0, cache.getStats().get("size"));
+        assertEquals(0L, cache.getStats().get("footprintBytes"));
+    }
+
+    private PostDTO post(Long id, int upvotes) {
+        PostDTO dto = new PostDTO(id, "Title " + id, "Content " + id, null, BASE_TIME, BASE_TIME,
+                7L, List.of("exam"), "Author", "author@student.cuet.ac.bd", "2204001", null,
+                upvotes, 0, 0, null);
+        dto.setTimestamp(BASE_TIME);
+        return dto;
+    }
+}
@@ -0,0 +1,58 @@
+package com.cuet.sphere;
+
+import com.cuet.sphere.service.PostSearchIndex;
+import com.cuet.sphere.util.ScoreCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostSearchIndexTest {
+
+    private PostSearchIndex index;
+
+    @BeforeEach
+    public void setup() {
+        index = new PostSearchIndex();
+        index.index(1L, "Data structures midterm", "Sample questions for the midterm", List.of("cse"));
+        index.index(2L, "Lost ID card", "Found near the library, contact me", List.of("lost-found"));
+        index.index(3L, "Library hours", "The library is open late during midterm week", List.of("library"));
+    }
+
+    @Test
+    public void testTitleMatchRanksAboveContentMatch() {
+        List<Long> ids = postIds(index.search("library", null, 10));
+
+        assertEquals(List.of(3L, 2L), ids);
+    }
+
+    @Test
+    public void testUpdateAndRemoveAreReflected() {
+        index.index(2L, "Lost calculator", "Casio, left in room 301", List.of());
+        assertEquals(List.of(3L), postIds(index.search("library", null, 10)));
+
+        index.remove(3L);
+        assertTrue(index.search("library", null, 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void testCursorContinuesAfterLastHit() {
+        List<PostSearchIndex.Hit> first = index.search("midterm library", null, 2);
+        PostSearchIndex.Hit last = first.get(first.size() - 1);
+
+        List<PostSearchIndex.Hit> rest = index.search("midterm library",
+            ScoreCursor.decode(ScoreCursor.encode(last.getScore(), last.getPostId())), 10);
+
+        assertEquals(2, first.size());
+        assertEquals(1, rest.size());
+        assertFalse(postIds(first).contains(rest.get(0).getPostId()));
+    }
+
+    private List<Long> postIds(List<PostSearchIndex.Hit> hits) {
+        return hits.stream().map(PostSearchIndex.Hit::getPostId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,128 @@
+package com.cuet.sphere;
+
+import com.cuet.sphere.dto.CursorPage;
+import com.cuet.sphere.dto.PostDTO;
+import com.cuet.sphere.dto.TagCountDTO;
+import com.cuet.sphere.model.Post;
+import com.cuet.sphere.model.User;
+import com.cuet.sphere.service.CommentService;
+import com.cuet.sphere.service.HotFeedCache;
+import com.cuet.sphere.service.PostSearchIndex;
+import com.cuet.sphere.service.PostService;
+import com.cuet.sphere.service.PostTagService;
+import com.cuet.sphere.service.S3Service;
+import com.cuet.sphere.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({PostService.class, HotFeedCache.class, PostSearchIndex.class, PostTagService.class})
+@TestPropertySource(properties = {
+    "feed.cache.capacity=0"
+})
+public class PostTagServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostTagService postTagService;
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private CommentService commentService;
+
+    @MockBean
+    private S3Service s3Service;
+
+    private User author;
+
+    @BeforeEach
+    public void setup() {
+        author = entityManager.persist(TestFixtures.user("Tag Author", "u2204001@student.cuet.ac.bd", "001"));
+    }
+
+    @Test
+    public void testTagFeedIsNewestFirstAndPagesByCursor() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (int i = 0; i < 5; i++) {
+            createPost("Post " + i, now.minusMinutes(i), List.of("exam", "cse"));
+        }
+        createPost("Other", now, List.of("sports"));
+
+        Page<PostDTO> page = postService.getPostsByTagPaginated("exam", 0, 10, null);
+        assertEquals(5, page.getTotalElements());
+        assertEquals(List.of("Post 0", "Post 1", "Post 2", "Post 3", "Post 4"), titles(page.getContent()));
+
+        CursorPage<PostDTO> first = postService.getTagFeedSlice("exam", null, 3, null);
+        CursorPage<PostDTO> second = postService.getTagFeedSlice("exam", first.getNextCursor(), 3, null);
+        assertTrue(first.isHasNext());
+        assertEquals(List.of("Post 3", "Post 4"), titles(second.getContent()));
+        assertFalse(second.isHasNext());
+    }
+
+    @Test
+    public void testTagCountsFollowCreateUpdateAndDelete() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Post first = createPost("First", now, List.of("exam", "cse"));
+        createPost("Second", now, List.of("exam"));
+
+        assertEquals(List.of("exam:2", "cse:1"), counts(postTagService.getTrendingTags(10)));
+
+        first.setTags(new ArrayList<>(List.of("cse", "lab")));
+        postService.updatePost(first);
+        assertEquals(List.of("cse:1", "exam:1", "lab:1"), counts(postTagService.getTrendingTags(10)));
+
+        postService.deletePost(first.getId());
+        assertEquals(List.of("exam:1"), counts(postTagService.getTrendingTags(10)));
+        assertEquals(0, postService.getPostsByTagPaginated("lab", 0, 10, null).getTotalElements());
+    }
+
+    @Test
+    public void testRolledBackPostNeverReachesTheSearchIndex() {
+        createPost("Rolled back", LocalDateTime.now(), List.of("exam"));
+        // The index is only updated once the transaction commits
+        assertTrue(postSearchIndex.search("rolled", null, 10).isEmpty());
+
+        TestTransaction.flagForRollback();
+        TestTransaction.end();
+        assertTrue(postSearchIndex.search("rolled", null, 10).isEmpty());
+    }
+
+    private Post createPost(String title, LocalDateTime createdAt, List<String> tags) {
+        return postService.createPost(TestFixtures.post(author, title, createdAt, tags));
+    }
+
+    private List<String> titles(List<PostDTO> posts) {
+        return posts.stream().map(PostDTO::getTitle).collect(Collectors.toList());
+    }
+
+    private List<String> counts(List<TagCountDTO> tags) {
+        return tags.stream().map(t -> t.getTag() + ":" + t.getCount()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,122 @@
+package com.cuet.sphere;
+
+import com.cuet.sphere.config.RateLimitFilter;
+import com.cuet.sphere.config.RateLimitProperties;
+import com.cuet.sphere.service.RateLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimitFilterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private RateLimiter rateLimiter;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        RateLimitProperties.Route comment = new RateLimitProperties.Route();
+        comment.setPath("/api/posts/*/comments");
+        comment.setUserCapacity(2);
+        comment.setUserRefillPerMinute(6);
+        comment.setIpCapacity(3);
+        comment.setIpRefillPerMinute(3);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getRoutes().put("comment", comment);
+
+        rateLimiter = new RateLimiter(4, clock::get);
+        filter = new RateLimitFilter(rateLimiter, properties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testUserBucketLimitsAndRefills() throws Exception {
+        signIn("u2204001@student.cuet.ac.bd");
+
+        MockHttpServletResponse first = comment("10.0.0.1");
+        assertEquals(200, first.getStatus());
+        assertEquals("2", first.getHeader("X-RateLimit-Limit"));
+        assertEquals("1", first.getHeader("X-RateLimit-Remaining"));
+        assertEquals("10", first.getHeader("X-RateLimit-Reset"));
+        assertEquals(200, comment("10.0.0.1").getStatus());
+
+        MockHttpServletResponse limited = comment("10.0.0.1");
+        assertEquals(429, limited.getStatus());
+        assertEquals("0", limited.getHeader("X-RateLimit-Remaining"));
+        assertEquals("10", limited.getHeader("Retry-After"));
+
+        // The rejected request did not spend an IP token, so one user refill is enough
+        clock.addAndGet(10_000_000_000L);
+        assertEquals(200, comment("10.0.0.1").getStatus());
+    }
+
+    @Test
+    public void testIpBucketAppliesAcrossUsersAndAnonymousCallers() throws Exception {
+        assertEquals(200, comment("10.0.0.2").getStatus());
+        signIn("u2204002@student.cuet.ac.bd");
+        assertEquals(200, comment("10.0.0.2").getStatus());
+        signIn("u2204003@student.cuet.ac.bd");
+        assertEquals(200, comment("10.0.0.2").getStatus());
+
+        MockHttpServletResponse limited = comment("10.0.0.2");
+        assertEquals(429, limited.getStatus());
+        assertEquals("3", limited.getHeader("X-RateLimit-Limit"));
+        assertEquals("20", limited.getHeader("Retry-After"));
+        // The rejected request did not spend a user token
+        MockHttpServletResponse elsewhere = comment("10.0.0.3");
+        assertEquals(200, elsewhere.getStatus());
+        assertEquals("0", elsewhere.getHeader("X-RateLimit-Remaining"));
+    }
+
+    @Test
+    public void testOtherRoutesAreNotLimited() throws Exception {
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/posts/1/comments");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(read, response, chain);
+        assertNotNull(chain.getRequest());
+        assertNull(response.getHeader("X-RateLimit-Limit"));
+    }
+
+    @Test
+    public void testFullBucketsAreEvicted() throws Exception {
+        comment("10.0.0.4");
+        rateLimiter.evictIdle();
+        assertEquals(1, rateLimiter.getStats().get("keys"));
+
+        clock.addAndGet(20_000_000_000L);
+        rateLimiter.evictIdle();
+        assertEquals(0, rateLimiter.getStats().get("keys"));
+        assertEquals(1L, rateLimiter.getStats().get("evicted"));
+    }
+
+    private MockHttpServletResponse comment(String ip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/posts/1/comments");
+        request.setRemoteAddr(ip);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        // Rejected requests never reach the controller
+        assertEquals(response.getStatus() != 429, chain.getRequest() != null);
+        return response;
+    }
+
+    private static void signIn(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+}
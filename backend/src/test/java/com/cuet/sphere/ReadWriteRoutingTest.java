@@ -0,0 +1,162 @@
+package com.cuet.sphere;
+
+import com.cuet.sphere.config.ReadWriteDataSourceConfig;
+import com.cuet.sphere.config.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two in-memory H2 databases stand in for the primary and the replica
+public class ReadWriteRoutingTest {
+
+    private ReadWriteRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readTransaction;
+
+    @BeforeEach
+    public void setup() {
+        DataSource primary = database("routing_primary", "primary");
+        DataSource replica = database("routing_replica", "replica");
+        routing = new ReadWriteRoutingDataSource(primary, replica);
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void testReadOnlyTransactionsGoToReplica() {
+        assertEquals("replica", readTransaction.execute(status -> currentDatabase()));
+        assertEquals("primary", writeTransaction.execute(status -> currentDatabase()));
+        // No transaction at all is treated as a write
+        assertEquals("primary", currentDatabase());
+    }
+
+    @Test
+    public void testReadsAfterAWriteInTheSameRequestStayOnPrimary() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertEquals("replica", readTransaction.execute(status -> currentDatabase()));
+
+        writeTransaction.executeWithoutResult(status ->
+            jdbcTemplate.update("UPDATE marker SET name = name"));
+        assertEquals("primary", readTransaction.execute(status -> currentDatabase()));
+        assertEquals(1L, routing.getStats().get("pinnedToPrimary"));
+
+        // A new request reads from the replica again
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertEquals("replica", readTransaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    public void testWritesOutsideARequestDoNotPinLaterReads() {
+        writeTransaction.executeWithoutResult(status ->
+            jdbcTemplate.update("UPDATE marker SET name = name"));
+        assertEquals("replica", readTransaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    public void testConfigReplacesTheSinglePoolOnlyWhenAReadUrlIsSet() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+            .withUserConfiguration(ReadWriteDataSourceConfig.class)
+            .withPropertyValues("spring.datasource.url=jdbc:h2:mem:config_primary", "spring.datasource.username=sa");
+
+        runner.run(context -> assertFalse(context.containsBean("routingDataSource")));
+        runner.withPropertyValues("datasource.read.url=jdbc:h2:mem:config_replica",
+                                  "datasource.read.hikari.maximum-pool-size=3")
+            .run(context -> {
+                assertInstanceOf(LazyConnectionDataSourceProxy.class, context.getBean(DataSource.class));
+                HikariDataSource read = context.getBean("readDataSource", HikariDataSource.class);
+                assertEquals(3, read.getMaximumPoolSize());
+                assertEquals("sa", read.getUsername());
+                assertTrue(read.isReadOnly());
+            });
+    }
+
+    @Test
+    public void testOpenSessionInViewDoesNotPinWritesToTheReadPool() {
+        database("jpa_primary", "primary");
+        database("jpa_replica", "replica");
+        new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class,
+                HibernateJpaAutoConfiguration.class))
+            .withUserConfiguration(ReadWriteDataSourceConfig.class)
+            .withPropertyValues("spring.datasource.url=jdbc:h2:mem:jpa_primary;DB_CLOSE_DELAY=-1",
+                                "spring.datasource.username=sa",
+                                "datasource.read.url=jdbc:h2:mem:jpa_replica;DB_CLOSE_DELAY=-1",
+                                "spring.jpa.hibernate.ddl-auto=none")
+            .run(context -> {
+                EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+                PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+                TransactionTemplate jpaWrite = new TransactionTemplate(transactionManager);
+                TransactionTemplate jpaRead = new TransactionTemplate(transactionManager);
+                jpaRead.setReadOnly(true);
+
+                // What OpenEntityManagerInViewInterceptor does around a request
+                RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+                EntityManager entityManager = entityManagerFactory.createEntityManager();
+                TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+                try {
+                    assertEquals("replica", jpaRead.execute(status -> currentDatabase(entityManager)));
+                    assertEquals("primary", jpaWrite.execute(status -> {
+                        entityManager.createNativeQuery("UPDATE marker SET name = name").executeUpdate();
+                        return currentDatabase(entityManager);
+                    }));
+                    // And the write pins the rest of the request to the primary
+                    assertEquals("primary", jpaRead.execute(status -> currentDatabase(entityManager)));
+                } finally {
+                    TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+                    entityManager.close();
+                }
+            });
+    }
+
+    private static String currentDatabase(EntityManager entityManager) {
+        return (String) entityManager.createNativeQuery("SELECT name FROM marker").getSingleResult();
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static DataSource database(String name, String marker) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(20))");
+        setup.update("DELETE FROM marker");
+        setup.update("INSERT INTO marker (name) VALUES (?)", marker);
+        return dataSource;
+    }
+}
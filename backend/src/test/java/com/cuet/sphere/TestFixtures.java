@@ -0,0 +1,47 @@
+package com.cuet.sphere;
+
+import com.cuet.sphere.model.Post;
+import com.cuet.sphere.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unsaved entities for tests; callers persist them or pass them to a service
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    public static User user(String fullName, String email, String studentId) {
+        return user(fullName, email, "22", "04", studentId);
+    }
+
+    public static User user(String fullName, String email, String batch, String department, String studentId) {
+        User user = new User();
+        user.setFullName(fullName);
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setBatch(batch);
+        user.setDepartment(department);
+        user.setStudentId(studentId);
+        return user;
+    }
+
+    public static Post post(User author, String title, LocalDateTime createdAt) {
+        return post(author, title, createdAt, List.of());
+    }
+
+    public static Post post(User author, String title, LocalDateTime createdAt, List<String> tags) {
+        Post post = new Post();
+        post.setTitle(title);
+        post.setContent(title + " content");
+        post.setUser(author);
+        post.setCreatedAt(createdAt);
+        post.setUpdatedAt(createdAt);
+        post.setTags(new ArrayList<>(tags));
+        return post;
+    }
+}
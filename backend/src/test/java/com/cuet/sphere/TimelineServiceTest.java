@@ -0,0 +1,129 @@
+package com.cuet.sphere;
+
+import com.cuet.sphere.dto.CursorPage;
+import com.cuet.sphere.dto.PostDTO;
+import com.cuet.sphere.model.Post;
+import com.cuet.sphere.model.User;
+import com.cuet.sphere.repository.TimelineEntryRepository;
+import com.cuet.sphere.service.CommentService;
+import com.cuet.sphere.service.HotFeedCache;
+import com.cuet.sphere.service.PostDeletionWorker;
+import com.cuet.sphere.service.PostSearchIndex;
+import com.cuet.sphere.service.PostService;
+import com.cuet.sphere.service.PostTagService;
+import com.cuet.sphere.service.S3Service;
+import com.cuet.sphere.service.TimelineService;
+import com.cuet.sphere.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({PostService.class, HotFeedCache.class, PostSearchIndex.class, PostTagService.class, TimelineService.class})
+@TestPropertySource(properties = {
+    "feed.cache.capacity=0",
+    "timeline.fanout.max-group-size=2"
+})
+public class TimelineServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private TimelineEntryRepository timelineEntryRepository;
+
+    @Autowired
+    private PostDeletionWorker postDeletionWorker;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private CommentService commentService;
+
+    @MockBean
+    private S3Service s3Service;
+
+    private int userCount = 0;
+
+    @Test
+    public void testSmallGroupIsFannedOutAndOtherGroupsDoNotSeeIt() {
+        User author = createUser("04", "22");
+        User classmate = createUser("04", "22");
+        User outsider = createUser("04", "21");
+
+        createPost(author, "Lab moved", LocalDateTime.now().withNano(0));
+
+        assertEquals(2, timelineEntryRepository.count());
+        assertEquals(List.of("Lab moved"), titles(postService.getTimelineSlice(classmate, null, 10)));
+        assertEquals(List.of("Lab moved"), titles(postService.getTimelineSlice(author, null, 10)));
+        assertTrue(postService.getTimelineSlice(outsider, null, 10).getContent().isEmpty());
+    }
+
+    @Test
+    public void testLargeGroupIsMergedAtReadTimeAndPagesByCursor() {
+        User reader = createUser("02", "20");
+        User other = createUser("02", "20");
+        createUser("02", "20");
+
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (int i = 0; i < 5; i++) {
+            createPost(i % 2 == 0 ? reader : other, "Post " + i, now.minusMinutes(i));
+        }
+
+        // Group of three is over the fan-out limit of two: nothing is written per user
+        assertEquals(0, timelineEntryRepository.count());
+
+        CursorPage<PostDTO> first = postService.getTimelineSlice(reader, null, 3);
+        assertEquals(List.of("Post 0", "Post 1", "Post 2"), titles(first));
+        assertTrue(first.isHasNext());
+
+        CursorPage<PostDTO> second = postService.getTimelineSlice(reader, first.getNextCursor(), 3);
+        assertEquals(List.of("Post 3", "Post 4"), titles(second));
+        assertFalse(second.isHasNext());
+    }
+
+    @Test
+    public void testDeletedPostLeavesTimelines() {
+        User author = createUser("04", "23");
+        User classmate = createUser("04", "23");
+        Post post = createPost(author, "Soon gone", LocalDateTime.now().withNano(0));
+
+        postService.deletePost(post.getId());
+        // Tombstoned posts drop out of timelines before their rows are purged
+        assertTrue(postService.getTimelineSlice(classmate, null, 10).getContent().isEmpty());
+
+        postDeletionWorker.processDueDeletions();
+        assertEquals(0, timelineEntryRepository.count());
+    }
+
+    private User createUser(String department, String batch) {
+        int n = userCount++;
+        String studentId = String.format("%03d", n);
+        return entityManager.persist(TestFixtures.user("Student " + n,
+            "u" + batch + department + studentId + "@student.cuet.ac.bd", batch, department, studentId));
+    }
+
+    private Post createPost(User author, String title, LocalDateTime createdAt) {
+        return postService.createPost(TestFixtures.post(author, title, createdAt));
+    }
+
+    private List<String> titles(CursorPage<PostDTO> page) {
+        return page.getContent().stream().map(PostDTO::getTitle).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,79 @@
+package com.cuet.sphere;
+
+import com.cuet.sphere.model.Post;
+import com.cuet.sphere.model.PostViewStats;
+import com.cuet.sphere.model.User;
+import com.cuet.sphere.repository.PostViewStatsRepository;
+import com.cuet.sphere.service.PostViewService;
+import com.cuet.sphere.service.ViewCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ViewCounter.class, PostViewService.class})
+public class ViewCounterTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ViewCounter viewCounter;
+
+    @Autowired
+    private PostViewStatsRepository postViewStatsRepository;
+
+    private Post post;
+
+    @BeforeEach
+    public void setup() {
+        User author = entityManager.persist(TestFixtures.user("View Author", "u2204003@student.cuet.ac.bd", "003"));
+
+        post = entityManager.persist(TestFixtures.post(author, "Viewed", LocalDateTime.now()));
+        entityManager.flush();
+    }
+
+    @Test
+    public void testViewsAreBufferedThenFlushedAcrossBatches() {
+        for (int i = 0; i < 30; i++) {
+            viewCounter.recordView(post.getId(), "user:" + (i % 10));
+        }
+
+        // Nothing written yet, but reads include the buffered views
+        assertFalse(postViewStatsRepository.existsById(post.getId()));
+        Map<String, Object> stats = viewCounter.getViewStats(post.getId());
+        assertEquals(30L, stats.get("views"));
+        assertEquals(10L, stats.get("uniqueViewers"));
+
+        viewCounter.flush();
+        for (int i = 0; i < 5; i++) {
+            viewCounter.recordView(post.getId(), "user:" + (i + 100));
+        }
+        viewCounter.flush();
+        entityManager.clear();
+
+        PostViewStats stored = postViewStatsRepository.findById(post.getId()).orElseThrow();
+        assertEquals(35, stored.getViewCount());
+        assertEquals(15, stored.getUniqueViewers());
+        assertEquals(35L, viewCounter.getViewStats(post.getId()).get("views"));
+    }
+
+    @Test
+    public void testViewsOfMissingPostsAreNotPersisted() {
+        assertFalse(viewCounter.recordView(-1L, "user:1"));
+        assertEquals(0, viewCounter.getStats().get("pendingPosts"));
+        viewCounter.flush();
+
+        assertFalse(postViewStatsRepository.existsById(-1L));
+    }
+}
@@ -0,0 +1,154 @@
+package com.cuet.sphere;
+
+import com.cuet.sphere.model.Post;
+import com.cuet.sphere.model.User;
+import com.cuet.sphere.model.Vote;
+import com.cuet.sphere.repository.VoteRepository;
+import com.cuet.sphere.service.HotFeedCache;
+import com.cuet.sphere.service.PostRankingService;
+import com.cuet.sphere.service.VoteBuffer;
+import com.cuet.sphere.service.VoteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({VoteService.class, VoteBuffer.class, HotFeedCache.class, PostRankingService.class})
+public class VoteBufferTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private VoteBuffer voteBuffer;
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    private Long postId;
+
+    @BeforeEach
+    public void setup() {
+        User author = entityManager.persist(TestFixtures.user("Author", "u2204001@student.cuet.ac.bd", "001"));
+
+        Post post = entityManager.persist(TestFixtures.post(author, "Vote me", LocalDateTime.now()));
+        entityManager.flush();
+        postId = post.getId();
+    }
+
+    @Test
+    public void testTogglesAreCoalescedAndProjected() {
+        assertEquals(Boolean.TRUE, voteBuffer.toggle(postId, 1L, true));
+        assertNull(voteBuffer.toggle(postId, 1L, true));
+        assertEquals(Boolean.FALSE, voteBuffer.toggle(postId, 1L, false));
+        assertEquals(Boolean.TRUE, voteBuffer.toggle(postId, 2L, true));
+
+        assertArrayEquals(new int[] {1, 1}, voteBuffer.getProjectedDelta(postId));
+        assertNull(voteRepository.findByPost_IdAndUserId(postId, 1L));
+
+        voteBuffer.flush();
+
+        assertArrayEquals(new int[] {0, 0}, voteBuffer.getProjectedDelta(postId));
+        assertFalse(voteBuffer.getPendingVote(postId, 1L).isPresent());
+        assertEquals(Boolean.FALSE, voteRepository.findByPost_IdAndUserId(postId, 1L).getUpvote());
+        assertCounters(1, 1);
+    }
+
+    @Test
+    public void testToggleOffAfterFlushRemovesStoredVote() {
+        voteBuffer.toggle(postId, 1L, true);
+        voteBuffer.flush();
+        assertCounters(1, 0);
+
+        // The second click starts from the stored row and nets out to "no vote"
+        assertNull(voteBuffer.toggle(postId, 1L, true));
+        voteBuffer.flush();
+
+        assertNull(voteRepository.findByPost_IdAndUserId(postId, 1L));
+        assertCounters(0, 0);
+    }
+
+    @Test
+    public void testRemoveOverridesAPendingClick() {
+        voteBuffer.toggle(postId, 1L, true);
+        voteBuffer.flush();
+        voteBuffer.toggle(postId, 1L, false);
+
+        voteBuffer.remove(postId, 1L);
+        assertArrayEquals(new int[] {-1, 0}, voteBuffer.getProjectedDelta(postId));
+        voteBuffer.flush();
+
+        assertNull(voteRepository.findByPost_IdAndUserId(postId, 1L));
+        assertCounters(0, 0);
+    }
+
+    @Test
+    public void testClicksThatCancelOutNeverReachTheTable() {
+        // The buffer is shared by every test in the context, so compare against its count so far
+        long writtenBefore = (Long) voteBuffer.getStats().get("written");
+        voteBuffer.toggle(postId, 1L, false);
+        voteBuffer.toggle(postId, 1L, false);
+        voteBuffer.flush();
+
+        assertEquals(0, voteRepository.count());
+        assertEquals(writtenBefore, voteBuffer.getStats().get("written"));
+    }
+
+    @Test
+    public void testApplyingTheSameStateTwiceIsIdempotent() {
+        voteBuffer.toggle(postId, 1L, true);
+        VoteBuffer.PendingVote pending = voteBuffer.getPendingVote(postId, 1L).orElseThrow();
+
+        voteService.applyVotes(List.of(pending));
+        voteService.applyVotes(List.of(pending));
+        // The buffer's own flush replays the same entry once more
+        voteBuffer.flush();
+
+        assertEquals(1, voteRepository.count());
+        assertCounters(1, 0);
+    }
+
+    @Test
+    public void testRowWrittenMeanwhileIsUpdatedInsteadOfFailingTheBatch() {
+        voteBuffer.toggle(postId, 1L, true);
+        voteBuffer.toggle(postId, 2L, false);
+
+        // Another writer stores user 1's vote after the buffer read the table
+        Vote concurrent = new Vote();
+        concurrent.setPost(entityManager.find(Post.class, postId));
+        concurrent.setUserId(1L);
+        concurrent.setUpvote(false);
+        entityManager.persist(concurrent);
+        entityManager.flush();
+        long writtenBefore = (Long) voteBuffer.getStats().get("written");
+
+        voteBuffer.flush();
+        entityManager.clear();
+
+        assertEquals(2, voteRepository.count());
+        assertEquals(Boolean.TRUE, voteRepository.findByPost_IdAndUserId(postId, 1L).getUpvote());
+        // Both entries went through in one batch, no entry-by-entry retry
+        assertEquals(writtenBefore + 2, voteBuffer.getStats().get("written"));
+        assertCounters(1, 1);
+    }
+
+    private void assertCounters(int upvotes, int downvotes) {
+        entityManager.clear();
+        Post post = entityManager.find(Post.class, postId);
+        assertEquals(upvotes, post.getUpvoteCount());
+        assertEquals(downvotes, post.getDownvoteCount());
+    }
+}